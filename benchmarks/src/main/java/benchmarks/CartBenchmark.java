@@ -0,0 +1,58 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.WebDriver;
+import pages.CartPage;
+import utils.ConfigReader;
+import utils.DriverFactory;
+import utils.Product;
+import utils.SauceDemoStandIn;
+import utils.SessionFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and verifying the cart contents for carts of increasing size
+ * served by the local stand-in.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Ddriver.headless=true")
+public class CartBenchmark {
+    @Param({"2", "100", "1000"})
+    public int cartSize;
+
+    private SauceDemoStandIn site;
+    private CartPage cart;
+
+    @Setup(Level.Trial)
+    public void openCart() {
+        site = LocalSite.start(Math.max(cartSize, Product.values().length));
+        List<Integer> productIds = new ArrayList<>();
+        productIds.add(Product.BACKPACK.getId());
+        productIds.add(Product.BIKE_LIGHT.getId());
+        for (int id = 0; productIds.size() < cartSize; id++) {
+            if (!productIds.contains(id)) productIds.add(id);
+        }
+        WebDriver driver = DriverFactory.initDriver();
+        SessionFixture.loginWithCart(driver, "standard_user", productIds);
+        driver.get(ConfigReader.getBaseUrl() + "cart.html");
+        cart = new CartPage(driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeBrowser() {
+        DriverFactory.quitDriver();
+        site.stop();
+    }
+
+    @Benchmark
+    public boolean verifyItemsInCart() {
+        return cart.verifyItemsInCart(Product.BACKPACK.getDisplayName(), Product.BIKE_LIGHT.getDisplayName());
+    }
+}
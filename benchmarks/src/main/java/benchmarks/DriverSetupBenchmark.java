@@ -0,0 +1,45 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import utils.DriverFactory;
+import utils.SauceDemoStandIn;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what a test pays in @BeforeMethod/@AfterMethod to get a browser:
+ * a cold Chrome start and quit versus leasing and resetting a pooled session.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 20)
+public class DriverSetupBenchmark {
+    private SauceDemoStandIn site;
+
+    @Setup(Level.Trial)
+    public void startSite() {
+        site = LocalSite.start(6); // Pooled sessions are reset to base.url
+    }
+
+    @TearDown(Level.Trial)
+    public void closeBrowser() {
+        DriverFactory.quitDriver();
+        site.stop();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Ddriver.headless=true", "-Ddriver.pool.enabled=false"})
+    public void initDriverColdStart() {
+        DriverFactory.initDriver();
+        DriverFactory.quitDriver();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Ddriver.headless=true", "-Ddriver.pool.enabled=true"})
+    public void initDriverPooled() {
+        DriverFactory.initDriver();
+        DriverFactory.quitDriver();
+    }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import pages.InventoryPage;
+import utils.DriverFactory;
+import utils.SauceDemoStandIn;
+import utils.SessionFixture;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Inventory Page queries and sorting against a logged in session,
+ * for catalogs of increasing size served by the local stand-in.
+ * The plain query benchmarks hit the page's DomStateCache after the first call; the *Cold variants
+ * change the DOM before every call, so they measure extracting and parsing the whole catalog.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Ddriver.headless=true")
+public class InventoryBenchmark {
+    // Alternating between two orders makes every sortBy() call actually re-render the list
+    private static final String[] SORT_OPTIONS = {"Price (high to low)", "Price (low to high)"};
+
+    @Param({"6", "1000", "10000"})
+    public int catalogSize;
+
+    private SauceDemoStandIn site;
+    private InventoryPage inventory;
+    private int sortCalls;
+
+    @Setup(Level.Trial)
+    public void openInventory() {
+        site = LocalSite.start(catalogSize);
+        WebDriver driver = DriverFactory.initDriver();
+        SessionFixture.loginAs(driver, "standard_user");
+        inventory = new InventoryPage(driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeBrowser() {
+        DriverFactory.quitDriver();
+        site.stop();
+    }
+
+    /**
+     * Touches an attribute before each call, outside the measured time, so the next query has to re-extract.
+     */
+    @State(Scope.Thread)
+    public static class ChangedDom {
+        private int changes;
+
+        @Setup(Level.Invocation)
+        public void changeDom() {
+            ((JavascriptExecutor) DriverFactory.getDriver())
+                    .executeScript("document.body.setAttribute('data-benchmark', arguments[0]);", changes++);
+        }
+    }
+
+    @Benchmark
+    public void sortBy() {
+        inventory.sortBy(SORT_OPTIONS[sortCalls++ & 1]);
+    }
+
+    @Benchmark
+    public List<Double> getTopNPrices() {
+        return inventory.getTopNPrices(3);
+    }
+
+    @Benchmark
+    public long countTitlesWith() {
+        return inventory.countTitlesWith("sauce");
+    }
+
+    @Benchmark
+    public List<Double> getTopNPricesCold(ChangedDom dom) {
+        return inventory.getTopNPrices(3);
+    }
+
+    @Benchmark
+    public long countTitlesWithCold(ChangedDom dom) {
+        return inventory.countTitlesWith("sauce");
+    }
+}
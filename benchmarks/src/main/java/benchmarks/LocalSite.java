@@ -0,0 +1,28 @@
+package benchmarks;
+
+import utils.SauceDemoStandIn;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Runs the benchmarks against the embedded SauceDemo stand-in instead of the public site,
+ * so results do not depend on internet latency.
+ */
+final class LocalSite {
+    private LocalSite() {
+    }
+
+    /**
+     * Starts a stand-in with the given catalog size and points base.url at it.
+     */
+    static SauceDemoStandIn start(int catalogSize) {
+        try {
+            SauceDemoStandIn site = SauceDemoStandIn.start(0, catalogSize);
+            System.setProperty("base.url", site.getBaseUrl());
+            return site;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the SauceDemo stand-in", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.WebDriver;
+import pages.LoginPage;
+import utils.ConfigReader;
+import utils.DriverFactory;
+import utils.SauceDemoStandIn;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a UI login, from the filled in form to the inventory page request.
+ * Every invocation starts logged out on the login page; that reset is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Ddriver.headless=true")
+public class LoginBenchmark {
+    private SauceDemoStandIn site;
+    private WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void startBrowser() {
+        site = LocalSite.start(6);
+        driver = DriverFactory.initDriver();
+    }
+
+    @Setup(Level.Invocation)
+    public void logOut() {
+        driver.manage().deleteAllCookies();
+        driver.get(ConfigReader.getBaseUrl());
+    }
+
+    @TearDown(Level.Trial)
+    public void closeBrowser() {
+        DriverFactory.quitDriver();
+        site.stop();
+    }
+
+    @Benchmark
+    public void login() {
+        new LoginPage(driver).login("standard_user", "secret_sauce");
+    }
+}
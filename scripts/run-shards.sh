@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+# Runs the suite as N duration-balanced shards in parallel JVMs and merges their Allure results.
+#
+#   scripts/run-shards.sh 4                 # 4 shards, merged into allure-results
+#   scripts/run-shards.sh 4 -Pparallel      # extra arguments are passed to every mvn run
+#
+# On several machines, run one shard per machine instead and merge the copied results afterwards:
+#   mvn test -Dshard.count=4 -Dshard.index=<0..3> -Dallure.results.directory=target/shards/<i>/allure-results
+#   scripts/run-shards.sh --merge target/shards/*/allure-results
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+MERGED_DIR=allure-results
+
+merge() {
+    mkdir -p "$MERGED_DIR"
+    for dir in "$@"; do
+        [ -d "$dir" ] || continue
+        # Result, container and attachment files have unique names, so merging is copying
+        find "$dir" -maxdepth 1 -type f ! -name environment.properties -exec cp {} "$MERGED_DIR"/ \;
+        if [ -f "$dir/environment.properties" ]; then
+            cp "$dir/environment.properties" "$MERGED_DIR"/
+        fi
+    done
+    echo "Merged Allure results of $# shard(s) into $MERGED_DIR"
+}
+
+if [ "${1:-}" = "--merge" ]; then
+    shift
+    merge "$@"
+    exit 0
+fi
+
+SHARDS=${1:?usage: scripts/run-shards.sh <shard count> [mvn args...] | --merge <results dirs...>}
+shift
+
+# Compile once; the shards then only run surefire against the compiled classes
+mvn -B -q test-compile "$@"
+
+pids=()
+for ((i = 0; i < SHARDS; i++)); do
+    shard_dir="target/shards/$i"
+    rm -rf "$shard_dir"
+    mkdir -p "$shard_dir"
+    mvn -B surefire:test "$@" \
+        -Dshard.count="$SHARDS" -Dshard.index="$i" \
+        -Dallure.results.directory="$shard_dir/allure-results" \
+        -Dsurefire.reports.dir="$shard_dir/surefire-reports" \
+        -Dmetrics.export.dir="$shard_dir/metrics" \
+        -Dscreenshot.store.dir="$shard_dir/screenshots" \
+        -Djournal.dir="$shard_dir/journal" \
+        -Dshard.plan.file="$shard_dir/shard-plan.txt" \
+        > "$shard_dir/mvn.log" 2>&1 &
+    pids+=($!)
+done
+
+status=0
+for i in "${!pids[@]}"; do
+    if ! wait "${pids[$i]}"; then
+        echo "Shard $i failed, see target/shards/$i/mvn.log"
+        status=1
+    fi
+done
+
+# Every method must be run by some shard: compare the union of the shards' selections with the full method set
+all_methods=$(cat target/shards/*/shard-plan.txt 2>/dev/null | cut -d' ' -f2- | sort -u)
+run_methods=$(grep -h '^+ ' target/shards/*/shard-plan.txt 2>/dev/null | cut -d' ' -f2- | sort -u)
+missing=$(comm -23 <(echo "$all_methods") <(echo "$run_methods"))
+if [ -n "$missing" ]; then
+    echo "No shard ran these test methods:"
+    echo "$missing"
+    status=1
+fi
+
+merge target/shards/*/allure-results
+exit $status
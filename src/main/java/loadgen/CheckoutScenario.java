@@ -0,0 +1,61 @@
+package loadgen;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import pages.CartPage;
+import pages.CheckoutOverviewPage;
+import pages.CheckoutPage;
+import pages.InventoryPage;
+import pages.LoginPage;
+import utils.ConfigReader;
+
+import java.time.Duration;
+
+/**
+ * The purchase journey of CheckoutTest.testFullCheckoutFlow, driven through the login form
+ * like a real shopper: login, add to cart, checkout (cart and customer details) and finish.
+ * Each step ends when the next page is ready, so its latency covers the page transition.
+ */
+public class CheckoutScenario implements Scenario {
+    private static final Duration STEP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String username = ConfigReader.get("load.username", "standard_user");
+    private final String password = ConfigReader.get("load.password", "secret_sauce");
+
+    @Override
+    public void run(WebDriver driver, Steps steps) {
+        WebDriverWait wait = new WebDriverWait(driver, STEP_TIMEOUT);
+
+        // Start every iteration logged out with an empty cart (not timed)
+        driver.get(ConfigReader.getBaseUrl());
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear();");
+
+        steps.step("login", () -> {
+            new LoginPage(driver).login(username, password);
+            wait.until(ExpectedConditions.visibilityOfElementLocated(By.className("inventory_list")));
+        });
+        InventoryPage inventory = new InventoryPage(driver);
+
+        steps.step("add_to_cart", () -> {
+            inventory.addToCartBackpackAndBikeLight();
+            wait.until(ExpectedConditions.textToBe(By.className("shopping_cart_badge"), "2"));
+        });
+
+        steps.step("checkout", () -> {
+            inventory.goToCart();
+            new CartPage(driver).proceedToCheckout();
+            new CheckoutPage(driver).fillCheckoutForm("Load", "User", "10001");
+            wait.until(ExpectedConditions.urlContains("checkout-step-two"));
+        });
+
+        steps.step("finish", () -> {
+            CheckoutOverviewPage overview = new CheckoutOverviewPage(driver);
+            overview.completeCheckout();
+            overview.getConfirmationMessage();
+        });
+    }
+}
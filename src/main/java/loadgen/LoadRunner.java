@@ -0,0 +1,214 @@
+package loadgen;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import utils.ConfigReader;
+import utils.DriverFactory;
+import utils.DriverPool;
+import utils.LatencyHistogram;
+import utils.SauceDemoStandIn;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Runs a {@link Scenario} as concurrent virtual users, each with its own browser from {@link DriverFactory}.
+ * Users start evenly spread over the ramp-up period and repeat the scenario until the run duration
+ * (which includes the ramp-up) is over. The report lists throughput and per step latency percentiles.
+ *
+ * <pre>
+ * mvn compile exec:java -Ploadgen -Dload.users=10 -Dload.duration.seconds=120 -Dload.standin=true
+ * </pre>
+ */
+public class LoadRunner {
+    private static final Logger logger = Logger.getLogger(LoadRunner.class.getName());
+
+    private final Scenario scenario;
+    private final int users;
+    private final long rampUpMillis;
+    private final long durationMillis;
+    private final Steps steps;
+
+    private final AtomicInteger startedUsers = new AtomicInteger();
+    private final AtomicInteger failedStarts = new AtomicInteger();
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicLong failedIterations = new AtomicLong();
+
+    /**
+     * @param scenario       Journey each virtual user repeats.
+     * @param users          Number of concurrent virtual users (browsers).
+     * @param rampUpMillis   Time over which the users are started.
+     * @param durationMillis Total run time, ramp-up included.
+     * @param thinkMillis    Average pause after each step.
+     */
+    public LoadRunner(Scenario scenario, int users, long rampUpMillis, long durationMillis, long thinkMillis) {
+        if (users < 1) throw new IllegalArgumentException("At least one virtual user is needed, got " + users);
+        this.scenario = scenario;
+        this.users = users;
+        this.rampUpMillis = rampUpMillis;
+        this.durationMillis = durationMillis;
+        this.steps = new Steps(thinkMillis);
+    }
+
+    /**
+     * Runs the load and blocks until every virtual user has finished its last iteration.
+     * @return Report of the run.
+     */
+    public Map<String, Object> run() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        long deadline = start + durationMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(users,
+                runnable -> new Thread(runnable, "virtual-user-" + threadNumber.incrementAndGet()));
+        for (int user = 0; user < users; user++) {
+            long startDelay = rampUpMillis * user / users;
+            executor.execute(() -> runUser(start + startDelay, deadline));
+        }
+        executor.shutdown();
+        // Iterations in flight at the deadline are allowed to finish
+        if (!executor.awaitTermination(durationMillis + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS)) {
+            List<Runnable> neverStarted = executor.shutdownNow();
+            logger.warning("Virtual users still running 5 minutes after the deadline were interrupted"
+                    + (neverStarted.isEmpty() ? "" : ", " + neverStarted.size() + " never started"));
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        return report(System.currentTimeMillis() - start);
+    }
+
+    private void runUser(long startAt, long deadline) {
+        try {
+            Thread.sleep(Math.max(0, startAt - System.currentTimeMillis()));
+        } catch (InterruptedException e) {
+            return;
+        }
+        if (System.currentTimeMillis() >= deadline) return;
+        WebDriver driver;
+        try {
+            driver = DriverFactory.initDriver();
+        } catch (RuntimeException | Error e) {
+            failedStarts.incrementAndGet();
+            logger.warning(Thread.currentThread().getName() + " could not start its browser: " + e);
+            return;
+        }
+        startedUsers.incrementAndGet();
+        try {
+            while (System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+                try {
+                    scenario.run(driver, steps);
+                    iterations.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failedIterations.incrementAndGet();
+                    logger.warning(Thread.currentThread().getName() + " iteration failed: " + e.getMessage());
+                }
+            }
+        } catch (Error e) {
+            logger.severe(Thread.currentThread().getName() + " stopped: " + e);
+            throw e;
+        } finally {
+            DriverFactory.quitDriver();
+        }
+    }
+
+    private Map<String, Object> report(long elapsedMillis) {
+        double seconds = elapsedMillis / 1000.0;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("startedUsers", startedUsers.get());
+        report.put("failedStarts", failedStarts.get());
+        report.put("durationSeconds", seconds);
+        report.put("iterations", iterations.get());
+        report.put("failedIterations", failedIterations.get());
+        report.put("iterationsPerSecond", iterations.get() / seconds);
+
+        Map<String, Object> stepReports = new LinkedHashMap<>();
+        steps.getLatencies().forEach((name, histogram) -> stepReports.put(name, stepReport(name, histogram, seconds)));
+        report.put("steps", stepReports);
+        return report;
+    }
+
+    private Map<String, Object> stepReport(String name, LatencyHistogram histogram, double seconds) {
+        Map<String, Object> step = new LinkedHashMap<>();
+        step.put("count", histogram.getCount());
+        step.put("errors", steps.getErrors(name));
+        step.put("perSecond", histogram.getCount() / seconds);
+        step.put("meanMs", histogram.getCount() == 0 ? 0 : histogram.getTotalNanos() / 1e6 / histogram.getCount());
+        step.put("p50Ms", histogram.quantileMillis(0.50));
+        step.put("p90Ms", histogram.quantileMillis(0.90));
+        step.put("p95Ms", histogram.quantileMillis(0.95));
+        step.put("p99Ms", histogram.quantileMillis(0.99));
+        return step;
+    }
+
+    /**
+     * Formats a report as a plain text table.
+     * @param report Result of {@link #run()}.
+     * @return Summary line followed by one line per step.
+     */
+    @SuppressWarnings("unchecked")
+    public static String format(Map<String, Object> report) {
+        StringBuilder text = new StringBuilder(String.format(
+                "%d of %d users started (%d failed to start), %.0fs: %d iterations (%d failed), %.2f iterations/s%n",
+                report.get("startedUsers"), report.get("users"), report.get("failedStarts"),
+                report.get("durationSeconds"), report.get("iterations"),
+                report.get("failedIterations"), report.get("iterationsPerSecond")));
+        text.append(String.format("%-12s %8s %7s %8s %9s %9s %9s %9s%n",
+                "step", "count", "errors", "per s", "p50 ms", "p90 ms", "p95 ms", "p99 ms"));
+        ((Map<String, Map<String, Object>>) report.get("steps")).forEach((name, step) -> text.append(String.format(
+                "%-12s %8d %7d %8.2f %9.1f %9.1f %9.1f %9.1f%n", name, step.get("count"), step.get("errors"),
+                step.get("perSecond"), step.get("p50Ms"), step.get("p90Ms"), step.get("p95Ms"), step.get("p99Ms"))));
+        return text.toString();
+    }
+
+    /**
+     * Runs the checkout scenario with the load.* settings, prints the report and writes
+     * loadReport.json to metrics.export.dir. With load.standin=true the embedded stand-in is the target.
+     */
+    public static void main(String[] args) throws Exception {
+        int users = ConfigReader.getInt("load.users", 5);
+        // Virtual users run headless and each keeps its browser for the whole run
+        setDefault("driver.headless", "true");
+        setDefault("driver.pool.size", String.valueOf(users));
+
+        SauceDemoStandIn standIn = null;
+        if (ConfigReader.getBoolean("load.standin", false)) {
+            standIn = SauceDemoStandIn.start(ConfigReader.getInt("standin.port", 0),
+                    ConfigReader.getInt("standin.catalog.size", 6));
+            System.setProperty("base.url", standIn.getBaseUrl());
+        }
+        try {
+            LoadRunner runner = new LoadRunner(new CheckoutScenario(), users,
+                    TimeUnit.SECONDS.toMillis(ConfigReader.getInt("load.rampup.seconds", 10)),
+                    TimeUnit.SECONDS.toMillis(ConfigReader.getInt("load.duration.seconds", 60)),
+                    ConfigReader.getInt("load.think.ms", 1000));
+            logger.info("Starting " + users + " virtual users against " + ConfigReader.getBaseUrl());
+            Map<String, Object> report = runner.run();
+            System.out.print(format(report));
+
+            Path dir = Paths.get(ConfigReader.get("metrics.export.dir", "target/metrics"));
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("loadReport.json"), new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warning("Could not write the load report: " + e.getMessage());
+        } finally {
+            DriverPool pool = DriverFactory.getPool();
+            if (pool != null) pool.shutdown();
+            if (standIn != null) standIn.stop();
+        }
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) System.setProperty(key, value);
+    }
+}
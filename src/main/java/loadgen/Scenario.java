@@ -0,0 +1,17 @@
+package loadgen;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * One iteration of a user journey, built from page objects and run over and over by each virtual user.
+ */
+public interface Scenario {
+
+    /**
+     * Runs the journey once. Each timed part is wrapped in {@link Steps#step}.
+     *
+     * @param driver The virtual user's browser.
+     * @param steps  Records the latency of each step and pauses for think time between steps.
+     */
+    void run(WebDriver driver, Steps steps);
+}
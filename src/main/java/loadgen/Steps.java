@@ -0,0 +1,70 @@
+package loadgen;
+
+import utils.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times the steps of a scenario across all virtual users.
+ * Think time (load.think.ms, randomized between 50% and 150%) is added after each step
+ * and is not part of the step's latency.
+ */
+public class Steps {
+    // Steps in the order they first ran, which is the order of the report
+    private final Map<String, LatencyHistogram> latencies = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final long thinkMillis;
+
+    Steps(long thinkMillis) {
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * Runs and times one step. A failing step is counted as an error for that step and rethrown,
+     * which ends the current iteration.
+     *
+     * @param name   Step name used in the report, e.g. "login".
+     * @param action Page object calls making up the step.
+     */
+    public void step(String name, Runnable action) {
+        LatencyHistogram histogram = latencies.computeIfAbsent(name, key -> new LatencyHistogram());
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            errors.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+            throw e;
+        }
+        histogram.record(System.nanoTime() - start);
+        think();
+    }
+
+    /**
+     * @return Latency per step, in the order the steps first ran.
+     */
+    Map<String, LatencyHistogram> getLatencies() {
+        synchronized (latencies) {
+            return new LinkedHashMap<>(latencies);
+        }
+    }
+
+    long getErrors(String step) {
+        AtomicLong count = errors.get(step);
+        return count == null ? 0 : count.get();
+    }
+
+    private void think() {
+        if (thinkMillis <= 0) return;
+        long pause = (long) (thinkMillis * (0.5 + ThreadLocalRandom.current().nextDouble()));
+        try {
+            Thread.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,7 +2,9 @@ package pages;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.*;
+import utils.PageBinder;
 import utils.TestUtil;
+import utils.WebVitals;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,12 +25,13 @@ public class CartPage {
     private List<WebElement> cartItemNames;
 
     /**
-     * Constructor that initializes page elements using PageFactory.
+     * Constructor that initializes page elements using PageBinder.
      * @param driver WebDriver instance passed from test class.
      */
     public CartPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        PageBinder.bind(driver, this);
+        WebVitals.record(driver, "CartPage", "open");
     }
 
     /**
@@ -37,6 +40,7 @@ public class CartPage {
      */
     public void proceedToCheckout() {
         TestUtil.waitForElementVisible(driver, checkoutButton, 10);
+        WebVitals.record(driver, "CartPage", "proceedToCheckout");
         checkoutButton.click();
     }
 
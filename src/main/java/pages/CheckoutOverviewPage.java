@@ -3,8 +3,10 @@ package pages;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import utils.DomStateCache;
+import utils.PageBinder;
 import utils.TestUtil;
+import utils.WebVitals;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,6 +18,16 @@ import java.util.stream.Collectors;
 public class CheckoutOverviewPage {
     WebDriver driver;
 
+    // Reads name, price and description of every item in the order in one browser call
+    private static final String ORDER_ITEMS_SCRIPT =
+            "return Array.prototype.map.call(document.querySelectorAll('.cart_item'), function (item) {"
+            + "  var text = function (selector) {"
+            + "    var e = item.querySelector(selector); return e ? e.textContent.trim() : '';"
+            + "  };"
+            + "  return [text('.inventory_item_name'), text('.inventory_item_price'),"
+            + "          text('.inventory_item_desc'), ''];"
+            + "});";
+
     // Finish button to complete the checkout
     @FindBy(id = "finish")
     private WebElement finishButton;
@@ -24,25 +36,22 @@ public class CheckoutOverviewPage {
     @FindBy(className = "complete-header")
     private WebElement confirmationText;
 
-    // Prices of individual items listed in the order
-    @FindBy(css = ".inventory_item_price")
-    private List<WebElement> itemPrices;
-
     // The total amount before tax and shipping
     @FindBy(className = "summary_subtotal_label")
     private WebElement itemTotalLabel;
 
-    // List of product titles shown in the overview
-    @FindBy(css = ".cart_item .inventory_item_name")
-    private List<WebElement> overviewItemTitles;
+    // Items listed in the order, re-read only when the DOM changes
+    private final DomStateCache<List<InventoryItem>> orderItems;
 
     /**
-     * Constructor initializes all page elements using PageFactory.
+     * Constructor initializes all page elements using PageBinder.
      * @param driver WebDriver instance passed from test class.
      */
     public CheckoutOverviewPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        this.orderItems = new DomStateCache<>(driver, ORDER_ITEMS_SCRIPT, InventoryPage::parseItems);
+        PageBinder.bind(driver, this);
+        WebVitals.record(driver, "CheckoutOverviewPage", "open");
     }
 
     /**
@@ -50,6 +59,7 @@ public class CheckoutOverviewPage {
      */
     public void completeCheckout() {
         TestUtil.waitForElementVisible(driver, finishButton, 10);
+        WebVitals.record(driver, "CheckoutOverviewPage", "completeCheckout");
         finishButton.click();
     }
 
@@ -67,8 +77,8 @@ public class CheckoutOverviewPage {
      * @return List of item prices as Double values.
      */
     public List<Double> getItemPrices() {
-        return itemPrices.stream()
-                .map(e -> Double.parseDouble(e.getText().replace("$", "")))
+        return orderItems.get().stream()
+                .map(InventoryItem::getPrice)
                 .collect(Collectors.toList());
     }
 
@@ -88,7 +98,7 @@ public class CheckoutOverviewPage {
      * @return true if the item is present; false otherwise.
      */
     public boolean verifyItemPresent(String itemName) {
-        return overviewItemTitles.stream()
-                .anyMatch(e -> e.getText().equalsIgnoreCase(itemName));
+        return orderItems.get().stream()
+                .anyMatch(item -> item.getName().equalsIgnoreCase(itemName));
     }
 }
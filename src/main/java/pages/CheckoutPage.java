@@ -3,8 +3,13 @@ package pages;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import utils.FormInput;
+import utils.PageBinder;
 import utils.TestUtil;
+import utils.WebVitals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Represents the Checkout Information Page in the SauceDemo application.
@@ -30,12 +35,13 @@ public class CheckoutPage {
     private WebElement continueButton;
 
     /**
-     * Constructor to initialize web elements using PageFactory.
+     * Constructor to initialize web elements using PageBinder.
      * @param driver WebDriver instance passed from the test class.
      */
     public CheckoutPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        PageBinder.bind(driver, this);
+        WebVitals.record(driver, "CheckoutPage", "open");
     }
 
     /**
@@ -46,9 +52,11 @@ public class CheckoutPage {
      */
     public void fillCheckoutForm(String firstName, String lastName, String postalCode) {
         TestUtil.waitForElementVisible(driver, firstNameField, 10);
-        firstNameField.sendKeys(firstName);
-        lastNameField.sendKeys(lastName);
-        postalCodeField.sendKeys(postalCode);
-        continueButton.click();
+        WebVitals.record(driver, "CheckoutPage", "fillCheckoutForm");
+        Map<WebElement, String> fields = new LinkedHashMap<>();
+        fields.put(firstNameField, firstName);
+        fields.put(lastNameField, lastName);
+        fields.put(postalCodeField, postalCode);
+        FormInput.fillAndSubmit(driver, fields, continueButton); // Keystrokes, or one script call with input.mode=fast
     }
 }
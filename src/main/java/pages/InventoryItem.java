@@ -0,0 +1,44 @@
+package pages;
+
+/**
+ * Snapshot of one product row on the Inventory Page.
+ * Instances are built in bulk by {@link InventoryPage#getItems()} so queries over the
+ * catalog run in memory instead of issuing one WebDriver call per element.
+ */
+public class InventoryItem {
+    private final String name;
+    private final double price;
+    private final String description;
+    private final String buttonId;
+
+    public InventoryItem(String name, double price, String description, String buttonId) {
+        this.name = name;
+        this.price = price;
+        this.description = description;
+        this.buttonId = buttonId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return Id of the row's cart button, e.g. "add-to-cart-sauce-labs-backpack" or "remove-sauce-labs-backpack".
+     */
+    public String getButtonId() {
+        return buttonId;
+    }
+
+    @Override
+    public String toString() {
+        return name + " ($" + price + ")";
+    }
+}
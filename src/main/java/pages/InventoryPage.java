@@ -3,9 +3,14 @@ package pages;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.*;
 import org.openqa.selenium.support.ui.Select;
+import utils.DomStateCache;
+import utils.PageBinder;
+import utils.RunJournal;
+import utils.WebVitals;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Logger;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 /**
@@ -14,7 +19,18 @@ import java.util.stream.Collectors;
  */
 public class InventoryPage {
     WebDriver driver;
-    private static final Logger logger = Logger.getLogger(InventoryPage.class.getName());
+    private static final RunJournal.Channel journal = RunJournal.channel(InventoryPage.class);
+
+    // Reads name, price, description and cart button id of every product row in one browser call
+    private static final String ITEMS_SCRIPT =
+            "return Array.prototype.map.call(document.querySelectorAll('.inventory_item'), function (item) {"
+            + "  var text = function (selector) {"
+            + "    var e = item.querySelector(selector); return e ? e.textContent.trim() : '';"
+            + "  };"
+            + "  var button = item.querySelector('button');"
+            + "  return [text('.inventory_item_name'), text('.inventory_item_price'),"
+            + "          text('.inventory_item_desc'), button ? button.id : ''];"
+            + "});";
 
     // All product item containers on the page
     @FindBy(css = ".inventory_item")
@@ -24,14 +40,6 @@ public class InventoryPage {
     @FindBy(className = "product_sort_container")
     private WebElement sortDropdown;
 
-    // Titles of each product listed
-    @FindBy(css = ".inventory_item_name")
-    private List<WebElement> productTitles;
-
-    // Price labels of each product
-    @FindBy(css = ".inventory_item_price")
-    private List<WebElement> productPrices;
-
     // "Add to Cart" button for the Backpack
     @FindBy(id = "add-to-cart-sauce-labs-backpack")
     private WebElement addBackpack;
@@ -44,13 +52,48 @@ public class InventoryPage {
     @FindBy(className = "shopping_cart_link")
     private WebElement cartIcon;
 
+    // Item count badge on the cart icon, only present while the cart is not empty
+    @FindBy(className = "shopping_cart_badge")
+    private List<WebElement> cartBadge;
+
+    // Product rows, re-read only when the DOM changes (e.g. after sorting)
+    private final DomStateCache<List<InventoryItem>> items;
+
     /**
-     * Constructor that initializes page elements using PageFactory.
+     * Constructor that initializes page elements using PageBinder.
      * @param driver WebDriver instance passed from the test class.
      */
     public InventoryPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        this.items = new DomStateCache<>(driver, ITEMS_SCRIPT, InventoryPage::parseItems);
+        PageBinder.bind(driver, this);
+        WebVitals.record(driver, "InventoryPage", "open");
+    }
+
+    /**
+     * Reads every product row on the page with a single script call.
+     * The rows are cached and only read again after the page's DOM changed.
+     * @return Products in display order.
+     */
+    public List<InventoryItem> getItems() {
+        return items.get();
+    }
+
+    /**
+     * Converts the raw rows returned by {@link #ITEMS_SCRIPT} into InventoryItem objects.
+     */
+    static List<InventoryItem> parseItems(Object raw) {
+        List<?> rows = (List<?>) raw;
+        List<InventoryItem> items = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            List<?> cells = (List<?>) row;
+            items.add(new InventoryItem(
+                    (String) cells.get(0),
+                    Double.parseDouble(((String) cells.get(1)).replace("$", "")),
+                    (String) cells.get(2),
+                    (String) cells.get(3)));
+        }
+        return items;
     }
 
     /**
@@ -58,10 +101,10 @@ public class InventoryPage {
      * @return List of product names as strings.
      */
     public List<String> getProductTitles() {
-        List<String> titles = productTitles.stream()
-                .map(WebElement::getText)
+        List<String> titles = getItems().stream()
+                .map(InventoryItem::getName)
                 .collect(Collectors.toList());
-        logger.info("Product titles: " + titles);
+        journal.info(() -> "Product titles: " + titles);
         return titles;
     }
 
@@ -70,7 +113,7 @@ public class InventoryPage {
      * @param value Visible text of the sort option (e.g., "Price (low to high)").
      */
     public void sortBy(String value) {
-        logger.info("Selecting sort option: " + value);
+        journal.info(() -> "Selecting sort option: " + value);
         new Select(sortDropdown).selectByVisibleText(value);
     }
 
@@ -80,11 +123,11 @@ public class InventoryPage {
      * @return List of prices as double values.
      */
     public List<Double> getTopNPrices(int n) {
-        List<Double> prices = productPrices.stream()
+        List<Double> prices = getItems().stream()
                 .limit(n)
-                .map(e -> Double.parseDouble(e.getText().replace("$", "")))
+                .map(InventoryItem::getPrice)
                 .collect(Collectors.toList());
-        logger.info("Top " + n + " prices: " + prices);
+        journal.info(() -> "Top " + n + " prices: " + prices);
         return prices;
     }
 
@@ -94,10 +137,11 @@ public class InventoryPage {
      * @return Number of matching titles.
      */
     public long countTitlesWith(String keyword) {
-        long count = productTitles.stream()
-                .filter(e -> e.getText().toLowerCase().contains(keyword.toLowerCase()))
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        long count = getItems().stream()
+                .filter(item -> item.getName().toLowerCase(Locale.ROOT).contains(needle))
                 .count();
-        logger.info("Number of product titles containing '" + keyword + "': " + count);
+        journal.info(() -> "Number of product titles containing '" + keyword + "': " + count);
         return count;
     }
 
@@ -105,16 +149,26 @@ public class InventoryPage {
      * Adds both the Backpack and Bike Light products to the shopping cart.
      */
     public void addToCartBackpackAndBikeLight() {
-        logger.info("Adding Backpack and Bike Light to cart.");
+        journal.info(() -> "Adding Backpack and Bike Light to cart.");
         addBackpack.click();
         addBikeLight.click();
     }
 
+    /**
+     * Reads the item count shown on the cart icon.
+     * @return Number on the cart badge, or 0 when no badge is shown.
+     */
+    public int getCartBadgeCount() {
+        List<WebElement> badges = cartBadge;
+        return badges.isEmpty() ? 0 : Integer.parseInt(badges.get(0).getText().trim());
+    }
+
     /**
      * Clicks the cart icon to navigate to the cart page.
      */
     public void goToCart() {
-        logger.info("Navigating to cart.");
+        journal.info(() -> "Navigating to cart.");
+        WebVitals.record(driver, "InventoryPage", "goToCart");
         cartIcon.click();
     }
 }
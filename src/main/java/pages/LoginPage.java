@@ -3,8 +3,13 @@ package pages;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import utils.FormInput;
+import utils.PageBinder;
 import utils.TestUtil;
+import utils.WebVitals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Represents the Login Page of the SauceDemo application.
@@ -26,12 +31,13 @@ public class LoginPage {
     private WebElement loginButton;
 
     /**
-     * Constructor initializes all elements using PageFactory.
+     * Constructor initializes all elements using PageBinder.
      * @param driver WebDriver instance passed from the test class.
      */
     public LoginPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        PageBinder.bind(driver, this);
+        WebVitals.record(driver, "LoginPage", "open");
     }
 
     /**
@@ -41,8 +47,10 @@ public class LoginPage {
      */
     public void login(String username, String password) {
         TestUtil.waitForElementVisible(driver, usernameField, 10);
-        usernameField.sendKeys(username);
-        passwordField.sendKeys(password);
-        loginButton.click();
+        WebVitals.record(driver, "LoginPage", "login");
+        Map<WebElement, String> fields = new LinkedHashMap<>();
+        fields.put(usernameField, username);
+        fields.put(passwordField, password);
+        FormInput.fillAndSubmit(driver, fields, loginButton); // Keystrokes, or one script call with input.mode=fast
     }
 }
@@ -0,0 +1,177 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Past test runs as recorded by Allure, keyed by fully qualified test method name
+ * (e.g. "tests.CheckoutTest.testFullCheckoutFlow").
+ * Runs are read from the raw result files (*-result.json) in history.results.dirs and from the
+ * history.json of a generated report (history.path). history.json only knows tests by their
+ * historyId, so its entries are matched to test names through the result files.
+ */
+public class AllureHistory {
+    private static final Logger logger = Logger.getLogger(AllureHistory.class.getName());
+
+    private static final String[] DEFAULT_HISTORY_PATHS = {
+            "target/allure-report/history/history.json",
+            "allure-results/target/allure-report/history/history.json",
+            "allure-results/history/history.json"};
+
+    /** One past execution of a test. */
+    public static final class Run {
+        private final String status;
+        private final long start;
+        private final long durationMillis;
+
+        Run(String status, long start, long durationMillis) {
+            this.status = status;
+            this.start = start;
+            this.durationMillis = durationMillis;
+        }
+
+        /** @return Allure status: passed, failed, broken or skipped. */
+        public String getStatus() {
+            return status;
+        }
+
+        /** @return Start time in epoch milliseconds. */
+        public long getStart() {
+            return start;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public boolean isFailure() {
+            return "failed".equals(status) || "broken".equals(status);
+        }
+    }
+
+    private final Map<String, List<Run>> runs = new HashMap<>();
+
+    private AllureHistory() {
+    }
+
+    /**
+     * Reads all available history. Missing or unreadable files are skipped.
+     * @return History of every test that ran before, possibly empty.
+     */
+    public static AllureHistory load() {
+        AllureHistory history = new AllureHistory();
+        Map<String, String> namesByHistoryId = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+
+        for (String dir : ConfigReader.get("history.results.dirs", "allure-results").split(",")) {
+            Path resultsDir = Paths.get(dir.trim());
+            if (!Files.isDirectory(resultsDir)) continue;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(resultsDir, "*-result.json")) {
+                for (Path file : files) {
+                    Map<String, Object> result = readJson(file);
+                    String fullName = (String) result.get("fullName");
+                    if (fullName == null) continue;
+                    if (result.get("historyId") != null) {
+                        namesByHistoryId.put((String) result.get("historyId"), fullName);
+                    }
+                    long start = toLong(result.get("start"));
+                    if (seen.add(fullName + "@" + start)) {
+                        history.add(fullName, new Run((String) result.get("status"), start, toLong(result.get("stop")) - start));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warning("Skipping Allure results in " + resultsDir + ": " + e.getMessage());
+            }
+        }
+
+        Path historyFile = historyFile();
+        if (historyFile != null) {
+            try {
+                for (Map.Entry<String, Object> entry : readJson(historyFile).entrySet()) {
+                    String fullName = namesByHistoryId.get(entry.getKey());
+                    Object items = ((Map<?, ?>) entry.getValue()).get("items");
+                    if (fullName == null || !(items instanceof List)) continue;
+                    for (Object item : (List<?>) items) {
+                        Map<?, ?> time = (Map<?, ?>) ((Map<?, ?>) item).get("time");
+                        long start = toLong(time.get("start"));
+                        if (seen.add(fullName + "@" + start)) {
+                            history.add(fullName, new Run((String) ((Map<?, ?>) item).get("status"), start, toLong(time.get("duration"))));
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warning("Skipping Allure history " + historyFile + ": " + e.getMessage());
+            }
+        }
+
+        history.runs.values().forEach(list -> list.sort((a, b) -> Long.compare(b.start, a.start)));
+        return history;
+    }
+
+    /**
+     * @param fullName Fully qualified test method name.
+     * @return Past runs of the test, newest first.
+     */
+    public List<Run> getRuns(String fullName) {
+        return runs.getOrDefault(fullName, Collections.emptyList());
+    }
+
+    /**
+     * Average duration of the most recent runs of a test.
+     * @param fullName Fully qualified test method name.
+     * @param maxRuns  Number of recent runs to average.
+     * @return Average duration in milliseconds, or empty if the test never ran.
+     */
+    public OptionalDouble averageDurationMillis(String fullName, int maxRuns) {
+        return getRuns(fullName).stream()
+                .filter(run -> run.durationMillis > 0)
+                .limit(maxRuns)
+                .mapToLong(Run::getDurationMillis)
+                .average();
+    }
+
+    public boolean isEmpty() {
+        return runs.isEmpty();
+    }
+
+    private void add(String fullName, Run run) {
+        runs.computeIfAbsent(fullName, key -> new ArrayList<>()).add(run);
+    }
+
+    private static Path historyFile() {
+        String configured = ConfigReader.get("history.path", "");
+        if (!configured.isEmpty()) {
+            return Files.isRegularFile(Paths.get(configured)) ? Paths.get(configured) : null;
+        }
+        for (String candidate : DEFAULT_HISTORY_PATHS) {
+            if (Files.isRegularFile(Paths.get(candidate))) return Paths.get(candidate);
+        }
+        return null;
+    }
+
+    private static Map<String, Object> readJson(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return new Json().toType(reader, Json.MAP_TYPE);
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
@@ -0,0 +1,93 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot of the browser state a SauceDemo flow depends on: the current URL, the cookies and localStorage.
+ * Restoring it into another session (fresh or pooled) puts that session on the same page with the same
+ * logged in user and cart, see {@link SessionFixture} for how the application keeps that state.
+ */
+public class BrowserCheckpoint {
+    private static final String READ_STORAGE_SCRIPT =
+            "var entries = {};"
+            + "for (var i = 0; i < window.localStorage.length; i++) {"
+            + "  var key = window.localStorage.key(i);"
+            + "  entries[key] = window.localStorage.getItem(key);"
+            + "}"
+            + "return entries;";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+            "window.localStorage.clear();"
+            + "var entries = arguments[0];"
+            + "Object.keys(entries).forEach(function (key) { window.localStorage.setItem(key, entries[key]); });";
+
+    private final String url;
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+
+    private BrowserCheckpoint(String url, Set<Cookie> cookies, Map<String, String> localStorage) {
+        this.url = url;
+        this.cookies = cookies;
+        this.localStorage = localStorage;
+    }
+
+    /**
+     * @param driver Session to snapshot.
+     * @return Checkpoint of the session's current page, cookies and localStorage.
+     */
+    @SuppressWarnings("unchecked")
+    public static BrowserCheckpoint capture(WebDriver driver) {
+        Object storage = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        Map<String, String> entries = new LinkedHashMap<>();
+        if (storage instanceof Map) {
+            ((Map<String, Object>) storage).forEach((key, value) -> entries.put(key, String.valueOf(value)));
+        }
+        return new BrowserCheckpoint(driver.getCurrentUrl(), driver.manage().getCookies(),
+                Collections.unmodifiableMap(entries));
+    }
+
+    /**
+     * Replaces the session's cookies and localStorage with the checkpoint's and opens the checkpoint's URL.
+     * @param driver Session to restore into.
+     */
+    public void restore(WebDriver driver) {
+        // Cookies and localStorage can only be written from a page of the checkpoint's origin
+        String origin = origin(url);
+        if (!driver.getCurrentUrl().startsWith(origin)) {
+            driver.get(origin);
+        }
+        WebDriver.Options options = driver.manage();
+        options.deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            // Host-only cookies: the checkpoint's domain attribute is rejected on localhost stand-ins
+            options.addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                    .path(cookie.getPath())
+                    .expiresOn(cookie.getExpiry())
+                    .isSecure(cookie.isSecure())
+                    .isHttpOnly(cookie.isHttpOnly())
+                    .build());
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, localStorage);
+        driver.get(url);
+    }
+
+    /**
+     * @return URL the browser was on when the checkpoint was taken.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority() + "/";
+    }
+}
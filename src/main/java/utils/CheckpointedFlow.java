@@ -0,0 +1,118 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A test journey split into named steps, with a browser checkpoint after each one.
+ * When the flow fails, the index of the last completed step and its {@link BrowserCheckpoint} are kept under
+ * the flow's id. If a retry is then requested with {@link #resumeNextRun(String)}, the next run of the same
+ * flow restores the checkpoint into its session and runs only the steps after it, instead of the whole journey.
+ * Steps must therefore create their page objects from the driver themselves rather than share them.
+ * Checkpoints are only taken when retry.max.attempts is above 0.
+ *
+ * <pre>
+ * new CheckpointedFlow(driver, flowId)
+ *         .step("Open the cart", () -&gt; new InventoryPage(driver).goToCart())
+ *         .step("Start checkout", () -&gt; new CartPage(driver).proceedToCheckout())
+ *         .run();
+ * </pre>
+ */
+public class CheckpointedFlow {
+    private static final RunJournal.Channel journal = RunJournal.channel(CheckpointedFlow.class);
+
+    /** Progress of a failed run: steps completed and the browser state after the last of them. */
+    private static final class Progress {
+        final int completedSteps;
+        final BrowserCheckpoint checkpoint;
+        volatile boolean resume;
+
+        Progress(int completedSteps, BrowserCheckpoint checkpoint) {
+            this.completedSteps = completedSteps;
+            this.checkpoint = checkpoint;
+        }
+    }
+
+    private static final Map<String, Progress> progressById = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final String id;
+    private final List<String> names = new ArrayList<>();
+    private final List<Runnable> actions = new ArrayList<>();
+
+    /**
+     * @param driver Session the steps run in.
+     * @param id     Identifies the flow across retries, e.g. the test's qualified name and parameters.
+     */
+    public CheckpointedFlow(WebDriver driver, String id) {
+        this.driver = driver;
+        this.id = id;
+    }
+
+    /**
+     * Adds a step. Each step is reported as an Allure step and followed by a checkpoint.
+     * @param name   Step name in the report.
+     * @param action What the step does, including its assertions.
+     * @return This flow.
+     */
+    public CheckpointedFlow step(String name, Runnable action) {
+        names.add(name);
+        actions.add(action);
+        return this;
+    }
+
+    /**
+     * Runs the steps, starting after the last checkpoint when a resume was requested for this flow.
+     * A failing step's exception is rethrown after the progress so far has been kept.
+     */
+    public void run() {
+        int first = 0;
+        // The checkpoint stays until a newer one replaces it, so a resumed run that fails in its
+        // first remaining step can still be resumed again
+        Progress saved = progressById.get(id);
+        if (saved != null && saved.resume && saved.completedSteps < names.size()) {
+            saved.resume = false;
+            String resumeAfter = names.get(saved.completedSteps - 1);
+            journal.info(() -> "Resuming " + id + " after '" + resumeAfter + "' at " + saved.checkpoint.getUrl());
+            Allure.step("Resume after '" + resumeAfter + "' from checkpoint", () -> saved.checkpoint.restore(driver));
+            first = saved.completedSteps;
+        } else if (saved != null) {
+            progressById.remove(id, saved); // Left over from a failure that was not retried
+        }
+
+        boolean checkpoints = ConfigReader.getInt("retry.max.attempts", 0) > 0;
+        for (int i = first; i < names.size(); i++) {
+            Runnable action = actions.get(i);
+            Allure.step(names.get(i), action::run);
+            if (checkpoints && i + 1 < names.size()) {
+                progressById.put(id, new Progress(i + 1, BrowserCheckpoint.capture(driver)));
+            }
+        }
+        progressById.remove(id);
+    }
+
+    /**
+     * Lets the next run of the flow resume from its last checkpoint, e.g. from a retry analyzer.
+     * @param id Flow id.
+     * @return Whether a checkpoint exists; if not, the next run starts from the first step.
+     */
+    public static boolean resumeNextRun(String id) {
+        Progress progress = progressById.get(id);
+        if (progress == null) return false;
+        progress.resume = true;
+        return true;
+    }
+
+    /**
+     * Drops the flow's checkpoint, e.g. when no retry follows the failure.
+     * @param id Flow id.
+     */
+    public static void discard(String id) {
+        progressById.remove(id);
+    }
+}
@@ -0,0 +1,204 @@
+package utils;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Records the latency of every WebDriver command issued through drivers created by {@link DriverFactory}.
+ * Latencies are kept in one {@link LatencyHistogram} per command, page object and test, and written at
+ * JVM exit in the Prometheus and InfluxDB text formats (prometheusData.txt and influxDbData.txt, the same
+ * files Allure produces under export/) to metrics.export.dir.
+ */
+public class CommandMetrics implements WebDriverListener {
+    private static final Logger logger = Logger.getLogger(CommandMetrics.class.getName());
+
+    // Calls that only build local helper objects and never reach the browser
+    private static final Set<String> LOCAL_CALLS = new HashSet<>(Arrays.asList(
+            "manage", "window", "timeouts", "navigate", "switchTo", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals"));
+
+    // Prometheus "le" bucket bounds in milliseconds
+    private static final double[] EXPORT_BOUNDS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private static final Map<Series, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private static final ThreadLocal<long[]> startStack = ThreadLocal.withInitial(() -> new long[17]);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(CommandMetrics::export, "command-metrics-export"));
+    }
+
+    /**
+     * Sets the test that commands issued by the calling thread are attributed to.
+     * @param testName Fully qualified test method name, or null to clear.
+     */
+    public static void setCurrentTest(String testName) {
+        if (testName == null) currentTest.remove();
+        else currentTest.set(testName);
+    }
+
+    /**
+     * @param method Method called on a decorated driver, element or helper.
+     * @return Whether the call only builds a local helper object and never reaches the browser.
+     */
+    static boolean isLocalCall(Method method) {
+        return LOCAL_CALLS.contains(method.getName());
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isLocalCall(method)) return;
+        long[] stack = startStack.get();
+        int depth = (int) ++stack[0];
+        if (depth < stack.length) stack[depth] = System.nanoTime();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private void finish(Method method) {
+        if (isLocalCall(method)) return;
+        long end = System.nanoTime();
+        long[] stack = startStack.get();
+        int depth = (int) stack[0]--;
+        if (depth <= 0 || depth >= stack.length) {
+            if (depth <= 0) stack[0] = 0;
+            return;
+        }
+        String test = currentTest.get();
+        String page = callingPage();
+        Series series = new Series(method.getName(), page, test == null ? "none" : test);
+        histograms.computeIfAbsent(series, key -> new LatencyHistogram()).record(end - stack[depth]);
+        RunJournal.record(RunJournal.EventType.COMMAND, page, method.getName(), end - stack[depth], null);
+    }
+
+    /**
+     * @return Simple name of the page object that issued the command, or "test" when called directly.
+     */
+    private static String callingPage() {
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith("pages.")) {
+                int nested = className.indexOf('$');
+                return className.substring("pages.".length(), nested < 0 ? className.length() : nested);
+            }
+        }
+        return "test";
+    }
+
+    /**
+     * Writes all histograms to metrics.export.dir.
+     */
+    public static void export() {
+        if (histograms.isEmpty()) return;
+        Path dir = Paths.get(ConfigReader.get("metrics.export.dir", "target/metrics"));
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("prometheusData.txt"), toPrometheus(), StandardCharsets.UTF_8);
+            Files.write(dir.resolve("influxDbData.txt"), toInflux(System.currentTimeMillis() * 1_000_000), StandardCharsets.UTF_8);
+            logger.info("WebDriver command metrics written to " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warning("Could not write WebDriver command metrics: " + e.getMessage());
+        }
+    }
+
+    static List<String> toPrometheus() {
+        List<String> lines = new ArrayList<>();
+        lines.add("# TYPE webdriver_command_duration_seconds histogram");
+        for (Map.Entry<Series, LatencyHistogram> entry : histograms.entrySet()) {
+            String labels = entry.getKey().prometheusLabels();
+            LatencyHistogram histogram = entry.getValue();
+            for (double bound : EXPORT_BOUNDS_MILLIS) {
+                lines.add("webdriver_command_duration_seconds_bucket{" + labels + ",le=\"" + bound / 1000 + "\"} "
+                        + histogram.countAtOrBelowMillis(bound));
+            }
+            lines.add("webdriver_command_duration_seconds_bucket{" + labels + ",le=\"+Inf\"} " + histogram.getCount());
+            lines.add("webdriver_command_duration_seconds_sum{" + labels + "} " + histogram.getTotalNanos() / 1e9);
+            lines.add("webdriver_command_duration_seconds_count{" + labels + "} " + histogram.getCount());
+        }
+        lines.add("# TYPE webdriver_command_latency_seconds summary");
+        for (Map.Entry<Series, LatencyHistogram> entry : histograms.entrySet()) {
+            String labels = entry.getKey().prometheusLabels();
+            LatencyHistogram histogram = entry.getValue();
+            lines.add("webdriver_command_latency_seconds{" + labels + ",quantile=\"0.5\"} " + histogram.quantileMillis(0.5) / 1000);
+            lines.add("webdriver_command_latency_seconds{" + labels + ",quantile=\"0.99\"} " + histogram.quantileMillis(0.99) / 1000);
+        }
+        return lines;
+    }
+
+    static List<String> toInflux(long timestampNanos) {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Series, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            lines.add("webdriver_command," + entry.getKey().influxTags()
+                    + " count=" + histogram.getCount() + "i"
+                    + ",sum_ms=" + histogram.getTotalNanos() / 1e6
+                    + ",p50_ms=" + histogram.quantileMillis(0.5)
+                    + ",p99_ms=" + histogram.quantileMillis(0.99)
+                    + " " + timestampNanos);
+        }
+        return lines;
+    }
+
+    /**
+     * Identifies one histogram: command type, page object and test.
+     */
+    private static final class Series {
+        final String command;
+        final String page;
+        final String test;
+
+        Series(String command, String page, String test) {
+            this.command = command;
+            this.page = page;
+            this.test = test;
+        }
+
+        String prometheusLabels() {
+            return "command=\"" + command + "\",page=\"" + page + "\",test=\"" + test.replace("\"", "\\\"") + "\"";
+        }
+
+        String influxTags() {
+            return "command=" + escapeTag(command) + ",page=" + escapeTag(page) + ",test=" + escapeTag(test);
+        }
+
+        private static String escapeTag(String value) {
+            return value.replace(",", "\\,").replace("=", "\\=").replace(" ", "\\ ");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Series)) return false;
+            Series other = (Series) o;
+            return command.equals(other.command) && page.equals(other.page) && test.equals(other.test);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(command, page, test);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Reads framework settings from config.properties on the classpath.
+ * A JVM system property with the same key always wins over the file,
+ * so any setting can be changed per run (e.g. -Ddriver.pool.size=8).
+ */
+public class ConfigReader {
+    private static final String CONFIG_FILE = "config.properties";
+    private static final Properties properties = load();
+
+    /**
+     * Returns the value of a setting.
+     *
+     * @param key          Setting name.
+     * @param defaultValue Value used when the setting is not defined anywhere.
+     * @return Trimmed setting value, or the default value.
+     */
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key, properties.getProperty(key));
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Returns the value of a setting as an int.
+     *
+     * @param key          Setting name.
+     * @param defaultValue Value used when the setting is not defined anywhere.
+     * @return Parsed setting value, or the default value.
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Returns the value of a setting as a boolean.
+     *
+     * @param key          Setting name.
+     * @param defaultValue Value used when the setting is not defined anywhere.
+     * @return Parsed setting value, or the default value.
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Returns the address of the application under test.
+     *
+     * @return Base URL, e.g. "https://www.saucedemo.com/".
+     */
+    public static String getBaseUrl() {
+        return get("base.url", "https://www.saucedemo.com/");
+    }
+
+    /**
+     * Loads config.properties from the classpath, or returns empty properties if it is missing.
+     */
+    private static Properties load() {
+        Properties props = new Properties();
+        try (InputStream in = ConfigReader.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (in != null) props.load(in);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return props;
+    }
+}
@@ -0,0 +1,91 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Caches state that a page object parses out of the DOM and re-reads it only when the DOM changed.
+ * A MutationObserver installed in the page bumps a generation counter on every DOM mutation.
+ * Each {@link #get()} sends the version it last saw; the browser only runs the extraction script
+ * and ships the data back when the version differs (new mutations or a new document).
+ * Every call is still one browser round trip: what an unchanged DOM saves is the extraction,
+ * the payload and the parsing, which is what the counters report.
+ */
+public class DomStateCache<T> {
+    private static final Logger logger = Logger.getLogger(DomStateCache.class.getName());
+
+    private static final AtomicLong extractionsAvoided = new AtomicLong();
+    private static final AtomicLong extractions = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> logger.info(stats()), "dom-state-cache-stats"));
+    }
+
+    // Installs the observer once per document and compares the caller's version with the current one
+    private static final String VERSION_CHECK =
+            "if (!window.__domState) {"
+            + "  window.__domState = { id: Math.random().toString(36).slice(2), gen: 0 };"
+            + "  new MutationObserver(function () { window.__domState.gen++; })"
+            + "      .observe(document.documentElement,"
+            + "               { subtree: true, childList: true, attributes: true, characterData: true });"
+            + "}"
+            + "var version = window.__domState.id + ':' + window.__domState.gen;"
+            + "if (version === arguments[0]) return [version];";
+
+    private final WebDriver driver;
+    private final String script;
+    private final Function<Object, T> parser;
+
+    private String version;
+    private T value;
+
+    /**
+     * @param driver        The active WebDriver instance.
+     * @param extractScript Script body that returns the raw state (must contain a return statement).
+     * @param parser        Converts the raw script result into the cached value.
+     */
+    public DomStateCache(WebDriver driver, String extractScript, Function<Object, T> parser) {
+        this.driver = driver;
+        this.script = VERSION_CHECK + "return [version, (function () {" + extractScript + "})()];";
+        this.parser = parser;
+    }
+
+    /**
+     * Returns the cached value, re-extracting it only if the DOM changed since the last call.
+     * @return Parsed page state.
+     */
+    public synchronized T get() {
+        List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(script, version);
+        if (result.size() == 1) {
+            extractionsAvoided.incrementAndGet();
+            return value;
+        }
+        extractions.incrementAndGet();
+        version = (String) result.get(0);
+        value = parser.apply(result.get(1));
+        return value;
+    }
+
+    /**
+     * @return Share of {@link #get()} calls that did not have to extract and transfer the state again,
+     *         between 0 and 1. Each of them still cost one (small) browser round trip.
+     */
+    public static double getExtractionsAvoidedRate() {
+        long total = extractionsAvoided.get() + extractions.get();
+        return total == 0 ? 0 : (double) extractionsAvoided.get() / total;
+    }
+
+    /**
+     * @return One line summary of the cache usage across all page objects.
+     */
+    public static String stats() {
+        return String.format("DomStateCache[reads=%d, extractionsAvoided=%d, extractions=%d, avoidedRate=%.1f%%]",
+                extractionsAvoided.get() + extractions.get(), extractionsAvoided.get(), extractions.get(),
+                getExtractionsAvoidedRate() * 100);
+    }
+}
@@ -0,0 +1,65 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.File;
+import java.util.logging.Logger;
+
+/**
+ * Resolves the ChromeDriver binary once per JVM.
+ * By default WebDriverManager looks up and downloads a compatible driver on first use.
+ * A pinned binary can be configured with driver.chromedriver.path; it is then used as-is.
+ * In offline mode (driver.offline=true) the pinned binary is mandatory and the network is never touched.
+ */
+public class DriverBinaryResolver {
+    private static final Logger logger = Logger.getLogger(DriverBinaryResolver.class.getName());
+    private static final String CHROME_DRIVER_PROPERTY = "webdriver.chrome.driver";
+
+    private static volatile String chromeDriverPath;
+
+    /**
+     * Makes sure a ChromeDriver binary is available and registered for new ChromeDriver sessions.
+     * Only the first call does any work; later calls return the memoized path.
+     *
+     * @return Absolute path of the ChromeDriver binary in use.
+     */
+    public static String resolveChromeDriver() {
+        String path = chromeDriverPath;
+        if (path == null) {
+            synchronized (DriverBinaryResolver.class) {
+                path = chromeDriverPath;
+                if (path == null) {
+                    path = resolve();
+                    System.setProperty(CHROME_DRIVER_PROPERTY, path);
+                    chromeDriverPath = path;
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Picks the pinned binary when configured, otherwise asks WebDriverManager.
+     */
+    private static String resolve() {
+        boolean offline = ConfigReader.getBoolean("driver.offline", false);
+        String pinnedPath = ConfigReader.get("driver.chromedriver.path", null);
+
+        if (pinnedPath != null) {
+            File binary = new File(pinnedPath);
+            if (!binary.isFile() || !binary.canExecute()) {
+                throw new IllegalStateException("driver.chromedriver.path does not point to an executable file: " + pinnedPath);
+            }
+            logger.info("Using pinned ChromeDriver " + binary.getAbsolutePath() + (offline ? " (offline mode)" : ""));
+            return binary.getAbsolutePath();
+        }
+        if (offline) {
+            throw new IllegalStateException("driver.offline=true requires driver.chromedriver.path to point to a pre-provisioned ChromeDriver");
+        }
+
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        manager.setup(); // Version lookup and download happen here, once per JVM
+        logger.info("Resolved ChromeDriver " + manager.getDownloadedDriverVersion() + " at " + manager.getDownloadedDriverPath());
+        return manager.getDownloadedDriverPath();
+    }
+}
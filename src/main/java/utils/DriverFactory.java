@@ -2,34 +2,165 @@ package utils;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 /**
  * Factory class for managing the WebDriver instance lifecycle.
- * Uses WebDriverManager to handle driver binaries automatically.
+ * The ChromeDriver binary is resolved once per JVM by {@link DriverBinaryResolver}.
+ * Each thread owns its own WebDriver, so tests can safely run in parallel.
+ * When the session pool is enabled (driver.pool.enabled), browsers are reused between tests
+ * instead of being started and quit for every test.
+ * With metrics.enabled, every command is timed by {@link CommandMetrics}, and with flight.recorder.enabled
+ * the recent commands of each test are kept by the {@link FlightRecorder} for failure reports.
+ * Chrome is configured by the {@link DriverProfile} named in driver.profile, and its traffic
+ * goes through the {@link NetworkLayer} (third-party blocking, shared static asset cache).
+ * With driver.mode=grid, sessions are RemoteWebDrivers on the {@link EmbeddedGrid}, and a {@link SlotScheduler}
+ * queues tests while every slot is in use.
  */
 public class DriverFactory {
-    private static WebDriver driver;
+    private static final Logger logger = Logger.getLogger(DriverFactory.class.getName());
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final DriverProfile profile = DriverProfile.fromConfigName(ConfigReader.get("driver.profile", "fidelity"));
+    private static final boolean grid = "grid".equalsIgnoreCase(ConfigReader.get("driver.mode", "local"));
+    private static final SlotScheduler scheduler = createScheduler();
+    private static final DriverPool pool = createPool();
 
     /**
-     * Initializes the WebDriver instance using ChromeDriver.
-     * WebDriverManager is used to ensure the correct ChromeDriver version is available.
-     * The browser window is maximized by default.
+     * Initializes a WebDriver instance for the calling thread.
+     * With the pool enabled a warm, reset session is leased; otherwise a new Chrome browser is started.
+     * Any driver still owned by the calling thread is released first.
      *
-     * @return WebDriver instance
+     * @return WebDriver instance owned by the calling thread
      */
     public static WebDriver initDriver() {
-        WebDriverManager.chromedriver().setup(); // Setup compatible ChromeDriver automatically
-        driver = new ChromeDriver();             // Launch Chrome browser
-        driver.manage().window().maximize();     // Maximize browser window
-        return driver;
+        quitDriver(); // Never leak a previous session of this thread
+        if (scheduler != null) scheduler.acquire(); // Waits in line while every grid slot is in use
+        WebDriver newDriver;
+        try {
+            newDriver = pool != null ? pool.lease() : createDriver();
+        } catch (RuntimeException e) {
+            if (scheduler != null) scheduler.release();
+            throw e;
+        }
+        driver.set(newDriver);
+        return newDriver;
+    }
+
+    /**
+     * Returns the WebDriver instance owned by the calling thread.
+     *
+     * @return WebDriver instance, or null if the thread has not initialized one
+     */
+    public static WebDriver getDriver() {
+        return driver.get();
     }
 
     /**
-     * Gracefully quits the WebDriver instance if it is active.
-     * This should be called in test teardown to close the browser.
+     * Releases the WebDriver instance of the calling thread if it is active.
+     * Pooled sessions are reset and kept for the next test; otherwise the browser is closed.
+     * This should be called in test teardown.
      */
     public static void quitDriver() {
-        if (driver != null) driver.quit();
+        WebDriver current = driver.get();
+        if (current == null) return;
+        driver.remove();
+        try {
+            if (pool != null) {
+                pool.release(current);
+            } else {
+                current.quit();
+            }
+        } finally {
+            if (scheduler != null) scheduler.release();
+        }
+    }
+
+    /**
+     * @return The session pool, or null when pooling is disabled.
+     */
+    public static DriverPool getPool() {
+        return pool;
+    }
+
+    /**
+     * @return The grid slot scheduler, or null unless driver.mode=grid.
+     */
+    public static SlotScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return The driver profile used for every session of this run.
+     */
+    public static DriverProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Starts a new Chrome browser configured by the driver profile, locally or on the embedded grid.
+     * The ChromeDriver binary is resolved on first use and reused afterwards.
+     * driver.headless=true additionally runs any profile without a window.
+     */
+    private static WebDriver createDriver() {
+        DriverBinaryResolver.resolveChromeDriver(); // No-op after the first session of the run
+        RunEnvironment.record("driver.profile", profile.configName());
+        ChromeOptions options = profile.chromeOptions();
+        if (ConfigReader.getBoolean("driver.headless", false)) {
+            options.addArguments("--headless=new");
+        }
+        if (FlightRecorder.isEnabled()) {
+            FlightRecorder.configure(options);   // Browser console log for failure reports
+        }
+        WebDriver newDriver = grid
+                ? new Augmenter().augment(new RemoteWebDriver(EmbeddedGrid.start(), options)) // Augmented for DevTools
+                : new ChromeDriver(options);             // Launch Chrome browser
+        NetworkLayer.attach(newDriver);                  // DevTools needs the raw driver, not the decorator
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (ConfigReader.getBoolean("metrics.enabled", true)) listeners.add(new CommandMetrics());
+        if (FlightRecorder.isEnabled()) listeners.add(new FlightRecorder());
+        if (!listeners.isEmpty()) {
+            newDriver = new EventFiringDecorator<>(WebDriver.class, listeners.toArray(new WebDriverListener[0]))
+                    .decorate(newDriver);
+        }
+        profile.resetWindow(newDriver);          // Maximize or apply the profile's fixed viewport
+        return newDriver;
+    }
+
+    /**
+     * Creates the grid slot scheduler when driver.mode=grid and registers a shutdown hook
+     * that reports queue waits and slot utilization.
+     */
+    private static SlotScheduler createScheduler() {
+        if (!grid) return null;
+        SlotScheduler newScheduler = new SlotScheduler(EmbeddedGrid.getSlots());
+        RunEnvironment.record("driver.mode", "grid (" + newScheduler.getSlots() + " slots)");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> logger.info(newScheduler.stats()), "slot-scheduler-stats"));
+        return newScheduler;
+    }
+
+    /**
+     * Creates the session pool if enabled and registers a shutdown hook that
+     * reports its statistics and closes the remaining browsers.
+     * On the grid the pool never holds more sessions than there are slots.
+     */
+    private static DriverPool createPool() {
+        if (!ConfigReader.getBoolean("driver.pool.enabled", true)) return null;
+        int size = ConfigReader.getInt("driver.pool.size", 4);
+        if (scheduler != null) size = Math.min(size, scheduler.getSlots());
+        DriverPool newPool = new DriverPool(size, DriverFactory::createDriver, profile::resetWindow);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            logger.info(newPool.stats());
+            newPool.drain(5, TimeUnit.SECONDS);
+        }, "driver-pool-shutdown"));
+        return newPool;
     }
 }
@@ -0,0 +1,176 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of live browser sessions.
+ * Sessions are leased to tests and wiped on return (windows, cookies, local/session storage,
+ * window size and URL), so the next test gets a clean browser without paying for a cold start.
+ */
+public class DriverPool {
+    private static final Logger logger = Logger.getLogger(DriverPool.class.getName());
+
+    private final int maxSize;
+    private final Supplier<WebDriver> sessionFactory;
+    private final Consumer<WebDriver> windowReset;
+    private final Semaphore liveSessions;
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong resetFailures = new AtomicLong();
+    private final AtomicLong resetNanos = new AtomicLong();
+
+    /**
+     * Creates a pool that never holds more than maxSize live sessions.
+     * @param maxSize        Maximum number of sessions alive at the same time (leased + idle).
+     * @param sessionFactory Starts a brand new browser session on a pool miss.
+     * @param windowReset    Restores the window size a new session starts with.
+     */
+    public DriverPool(int maxSize, Supplier<WebDriver> sessionFactory, Consumer<WebDriver> windowReset) {
+        if (maxSize < 1) throw new IllegalArgumentException("Pool size must be at least 1, got " + maxSize);
+        this.maxSize = maxSize;
+        this.sessionFactory = sessionFactory;
+        this.windowReset = windowReset;
+        this.liveSessions = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Leases a session, reusing an idle one when possible.
+     * Blocks while maxSize sessions are already leased.
+     * @return A clean WebDriver session owned by the caller until {@link #release(WebDriver)}.
+     */
+    public WebDriver lease() {
+        try {
+            liveSessions.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+        WebDriver session = idle.pollFirst();
+        if (session != null) {
+            hits.incrementAndGet();
+            return session;
+        }
+        misses.incrementAndGet();
+        try {
+            return sessionFactory.get();
+        } catch (RuntimeException e) {
+            liveSessions.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a leased session to the pool after resetting it.
+     * A session that cannot be reset is quit instead of being reused.
+     * @param session Session previously obtained from {@link #lease()}.
+     */
+    public void release(WebDriver session) {
+        try {
+            long start = System.nanoTime();
+            reset(session);
+            resetNanos.addAndGet(System.nanoTime() - start);
+            resets.incrementAndGet();
+            idle.offerFirst(session); // LIFO: the most recently used session is the warmest
+        } catch (RuntimeException e) {
+            resetFailures.incrementAndGet();
+            logger.warning("Discarding browser session that could not be reset: " + e.getMessage());
+            quitQuietly(session);
+        } finally {
+            liveSessions.release();
+        }
+    }
+
+    /**
+     * Quits every idle session. Leased sessions are quit when they come back.
+     */
+    public void shutdown() {
+        WebDriver session;
+        while ((session = idle.pollFirst()) != null) {
+            quitQuietly(session);
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return Average time spent resetting a returned session, in milliseconds.
+     */
+    public double getAverageResetMillis() {
+        long count = resets.get();
+        return count == 0 ? 0 : resetNanos.get() / 1_000_000.0 / count;
+    }
+
+    /**
+     * @return One line summary of the pool usage, e.g. for logging at the end of a run.
+     */
+    public String stats() {
+        return String.format("DriverPool[size=%d, hits=%d, misses=%d, resets=%d, resetFailures=%d, avgResetMs=%.1f]",
+                maxSize, hits.get(), misses.get(), resets.get(), resetFailures.get(), getAverageResetMillis());
+    }
+
+    /**
+     * Brings a used session back to the state of a freshly started browser on the base URL.
+     */
+    private void reset(WebDriver session) {
+        // Close any extra tabs or windows the test opened
+        String mainWindow = session.getWindowHandles().iterator().next();
+        for (String handle : session.getWindowHandles()) {
+            if (!handle.equals(mainWindow)) {
+                session.switchTo().window(handle).close();
+            }
+        }
+        session.switchTo().window(mainWindow);
+
+        // Storage can only be cleared from a page of the application's own origin
+        String baseUrl = ConfigReader.getBaseUrl();
+        if (!session.getCurrentUrl().startsWith(baseUrl)) {
+            session.get(baseUrl);
+        }
+        session.manage().deleteAllCookies();
+        ((JavascriptExecutor) session).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        windowReset.accept(session);
+        session.get(baseUrl);
+    }
+
+    private static void quitQuietly(WebDriver session) {
+        try {
+            session.quit();
+        } catch (RuntimeException e) {
+            logger.warning("Failed to quit browser session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits up to the given time for all leased sessions to come back, then quits the idle ones.
+     * Used by the JVM shutdown hook so no Chrome process outlives the test run.
+     */
+    void drain(long timeout, TimeUnit unit) {
+        try {
+            if (liveSessions.tryAcquire(maxSize, timeout, unit)) {
+                liveSessions.release(maxSize);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        shutdown();
+    }
+}
@@ -0,0 +1,96 @@
+package utils;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named Chrome configurations selectable with driver.profile.
+ * "fidelity" is a regular, maximized Chrome window with full page loads.
+ * "fast-ci" trades visual fidelity for throughput: headless, fixed viewport, eager page loads,
+ * no images or extensions, and renderer flags that keep background tabs from being throttled.
+ */
+public enum DriverProfile {
+    FIDELITY {
+        @Override
+        public ChromeOptions chromeOptions() {
+            return new ChromeOptions();
+        }
+
+        @Override
+        public void resetWindow(WebDriver driver) {
+            driver.manage().window().maximize();
+        }
+    },
+
+    FAST_CI {
+        @Override
+        public ChromeOptions chromeOptions() {
+            ChromeOptions options = new ChromeOptions();
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER); // Return once the DOM is ready, not after every image
+            options.addArguments(
+                    "--headless=new",
+                    "--window-size=" + WIDTH + "," + HEIGHT,
+                    "--disable-extensions",
+                    "--disable-gpu",
+                    "--disable-dev-shm-usage",
+                    "--blink-settings=imagesEnabled=false",
+                    "--disable-background-networking",
+                    "--disable-background-timer-throttling",
+                    "--disable-backgrounding-occluded-windows",
+                    "--disable-renderer-backgrounding",
+                    "--disable-features=Translate,OptimizationHints,MediaRouter",
+                    "--disable-sync",
+                    "--no-first-run",
+                    "--no-default-browser-check",
+                    "--mute-audio");
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+            return options;
+        }
+
+        @Override
+        public void resetWindow(WebDriver driver) {
+            driver.manage().window().setSize(new Dimension(WIDTH, HEIGHT));
+        }
+    };
+
+    private static final int WIDTH = 1366;
+    private static final int HEIGHT = 768;
+
+    /**
+     * @return Chrome options for a new session with this profile.
+     */
+    public abstract ChromeOptions chromeOptions();
+
+    /**
+     * Brings the browser window to the profile's size. Used for new and reset sessions.
+     * @param driver The active WebDriver instance.
+     */
+    public abstract void resetWindow(WebDriver driver);
+
+    /**
+     * @return Name used in configuration, e.g. "fast-ci".
+     */
+    public String configName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Looks up a profile by its configuration name.
+     * @param name Profile name, e.g. "fast-ci" or "fidelity".
+     * @return The matching profile.
+     */
+    public static DriverProfile fromConfigName(String name) {
+        for (DriverProfile profile : values()) {
+            if (profile.configName().equalsIgnoreCase(name)) return profile;
+        }
+        throw new IllegalArgumentException("Unknown driver.profile '" + name + "', expected fidelity or fast-ci");
+    }
+}
@@ -0,0 +1,112 @@
+package utils;
+
+import org.openqa.selenium.grid.commands.Standalone;
+import org.openqa.selenium.grid.config.TomlConfig;
+import org.openqa.selenium.grid.server.Server;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Selenium Grid running inside the test JVM: a standalone server (hub, distributor and one local node)
+ * with a single Chrome slot type. The node launches ChromeDriver in this JVM, so it uses the binary
+ * resolved by {@link DriverBinaryResolver} and needs no separate installation.
+ *
+ * The number of slots is grid.slots, or when that is 0 (the default) the smaller of
+ * cores / grid.slot.cores and (physical memory - grid.reserved.memory.mb) / grid.slot.memory.mb,
+ * so Chrome processes never compete for more CPU or memory than the machine has.
+ * The server is started on first use and runs until the JVM exits.
+ */
+public class EmbeddedGrid {
+    private static final Logger logger = Logger.getLogger(EmbeddedGrid.class.getName());
+    // Keeps the level set below; JUL only holds loggers weakly
+    private static final Logger gridLogger = Logger.getLogger("org.openqa.selenium.grid");
+
+    private static final int slots = computeSlots();
+    private static volatile URL url;
+
+    /**
+     * @return Number of concurrent browser sessions the node offers.
+     */
+    public static int getSlots() {
+        return slots;
+    }
+
+    /**
+     * Starts the grid if it is not running yet.
+     * @return Address RemoteWebDriver sessions are requested from.
+     */
+    public static URL start() {
+        URL current = url;
+        if (current != null) return current;
+        synchronized (EmbeddedGrid.class) {
+            if (url == null) {
+                DriverBinaryResolver.resolveChromeDriver(); // The node reads webdriver.chrome.driver from this JVM
+                gridLogger.setLevel(Level.WARNING);
+                int port = ConfigReader.getInt("grid.port", 0);
+                Server<?> server = new Standalone().asServer(new TomlConfig(new StringReader(
+                        toml(port == 0 ? freePort() : port)))).start();
+                url = server.getUrl();
+                logger.info("Embedded Selenium Grid started at " + url + " with " + slots + " Chrome slots");
+            }
+            return url;
+        }
+    }
+
+    private static String toml(int port) {
+        boolean overCores = slots > Runtime.getRuntime().availableProcessors();
+        return "[server]\n"
+                + "host = \"127.0.0.1\"\n"
+                + "port = " + port + "\n"
+                + "[node]\n"
+                + "detect-drivers = false\n"
+                + "max-sessions = " + slots + "\n"
+                + "override-max-sessions = " + overCores + "\n" // Grid caps sessions at the core count unless told otherwise
+                + "[[node.driver-configuration]]\n"
+                + "display-name = \"chrome\"\n"
+                + "stereotype = '{\"browserName\": \"chrome\"}'\n"
+                + "max-sessions = " + slots + "\n";
+    }
+
+    private static int computeSlots() {
+        int configured = ConfigReader.getInt("grid.slots", 0);
+        if (configured > 0) return configured;
+        int cores = Runtime.getRuntime().availableProcessors();
+        double coresPerSlot = Double.parseDouble(ConfigReader.get("grid.slot.cores", "1"));
+        int byCpu = (int) Math.floor(cores / Math.max(0.1, coresPerSlot));
+        long memoryMb = physicalMemoryMb();
+        int byMemory = memoryMb <= 0 ? byCpu : (int) ((memoryMb - ConfigReader.getInt("grid.reserved.memory.mb", 1024))
+                / Math.max(1, ConfigReader.getInt("grid.slot.memory.mb", 1024)));
+        int result = Math.max(1, Math.min(byCpu, byMemory));
+        logger.info("Grid slots: " + result + " (" + cores + " cores allow " + byCpu + ", "
+                + memoryMb + " MB memory allows " + byMemory + ")");
+        return result;
+    }
+
+    /**
+     * @return Total physical memory in MB, or 0 when the JVM does not expose it.
+     */
+    @SuppressWarnings("deprecation") // getTotalMemorySize() replaces it on JDK 14+, the code targets Java 8
+    private static long physicalMemoryMb() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getTotalPhysicalMemorySize() / (1024 * 1024);
+        }
+        return 0;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No free port for the embedded grid", e);
+        }
+    }
+}
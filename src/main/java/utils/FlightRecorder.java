@@ -0,0 +1,279 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the recent history of the test running on each thread and attaches it to Allure only when the test fails.
+ * The last flight.recorder.size WebDriver commands (start time, duration, outcome and the last known URL) go
+ * into fixed-size primitive arrays that are allocated once per thread, so recording a command allocates nothing.
+ * Screenshots the test takes through {@link ScreenshotPipeline} are kept by reference (the last
+ * flight.recorder.thumbnails of them) and only downscaled when they are needed.
+ *
+ * On failure {@link #dump(WebDriver)} attaches the command log, the browser console entries logged since the
+ * test started, thumbnails of the recent screenshots, the page source and a full page screenshot.
+ * A passing test costs a few array writes per command and nothing else.
+ */
+public class FlightRecorder implements WebDriverListener {
+    private static final Logger logger = Logger.getLogger(FlightRecorder.class.getName());
+
+    private static final boolean ENABLED = ConfigReader.getBoolean("flight.recorder.enabled", true);
+    private static final int SIZE = Math.max(1, ConfigReader.getInt("flight.recorder.size", 256));
+    private static final int THUMBNAILS = Math.max(0, ConfigReader.getInt("flight.recorder.thumbnails", 4));
+    private static final int THUMBNAIL_WIDTH = 320;
+
+    private static final ThreadLocal<Recording> recording = ThreadLocal.withInitial(Recording::new);
+
+    /**
+     * Ring buffers of one test thread. Slots are overwritten in place; nothing is allocated per event.
+     */
+    private static final class Recording {
+        final long[] startMillis = new long[SIZE];
+        final long[] durationNanos = new long[SIZE];
+        final String[] names = new String[SIZE];
+        final String[] urls = new String[SIZE];
+        final boolean[] failed = new boolean[SIZE];
+        final boolean[] marks = new boolean[SIZE];
+        long count;
+
+        final byte[][] screenshots = new byte[THUMBNAILS][];
+        final String[] screenshotNames = new String[THUMBNAILS];
+        long screenshotCount;
+
+        final long[] startStack = new long[16];
+        int depth;
+        String lastUrl;
+        long testStartMillis = System.currentTimeMillis();
+
+        int next() {
+            return (int) (count++ % SIZE);
+        }
+
+        void clear() {
+            count = 0;
+            screenshotCount = 0;
+            Arrays.fill(screenshots, null); // Release the images of the previous test
+            depth = 0;
+            lastUrl = null;
+            testStartMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * @return Whether sessions should be recorded (flight.recorder.enabled).
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Enables the browser console log on a new session, so {@link #dump(WebDriver)} can read it.
+     * @param options Options of the session to create.
+     */
+    public static void configure(ChromeOptions options) {
+        LoggingPreferences logs = new LoggingPreferences();
+        logs.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability("goog:loggingPrefs", logs);
+    }
+
+    /**
+     * Forgets the calling thread's history. Call before each test method.
+     */
+    public static void testStarted() {
+        recording.get().clear();
+    }
+
+    /**
+     * Adds a named marker, e.g. a report step, to the calling thread's command history.
+     * @param name Marker text.
+     */
+    public static void mark(String name) {
+        if (!ENABLED) return;
+        Recording r = recording.get();
+        int slot = r.next();
+        r.startMillis[slot] = System.currentTimeMillis();
+        r.durationNanos[slot] = 0;
+        r.names[slot] = name;
+        r.urls[slot] = r.lastUrl;
+        r.failed[slot] = false;
+        r.marks[slot] = true;
+    }
+
+    /**
+     * Keeps a reference to a screenshot the test took anyway; it is downscaled only if the test fails.
+     * @param name Screenshot name.
+     * @param png  Screenshot as PNG.
+     */
+    public static void screenshot(String name, byte[] png) {
+        if (!ENABLED || THUMBNAILS == 0 || png.length == 0) return;
+        Recording r = recording.get();
+        int slot = (int) (r.screenshotCount++ % THUMBNAILS);
+        r.screenshots[slot] = png;
+        r.screenshotNames[slot] = name;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (CommandMetrics.isLocalCall(method)) return;
+        Recording r = recording.get();
+        if (r.depth < r.startStack.length) r.startStack[r.depth] = System.nanoTime();
+        r.depth++;
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, true);
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        recording.get().lastUrl = url;
+    }
+
+    @Override
+    public void afterGetCurrentUrl(WebDriver driver, String url) {
+        recording.get().lastUrl = url;
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        recording.get().lastUrl = url;
+    }
+
+    private void finish(Method method, boolean failed) {
+        if (CommandMetrics.isLocalCall(method)) return;
+        long end = System.nanoTime();
+        Recording r = recording.get();
+        if (r.depth == 0) return; // Started before the history was cleared
+        int depth = --r.depth;
+        long duration = depth < r.startStack.length ? end - r.startStack[depth] : 0;
+        int slot = r.next();
+        r.startMillis[slot] = System.currentTimeMillis() - duration / 1_000_000;
+        r.durationNanos[slot] = duration;
+        r.names[slot] = method.getName();
+        r.urls[slot] = r.lastUrl;
+        r.failed[slot] = failed;
+        r.marks[slot] = false;
+    }
+
+    /**
+     * Attaches the calling thread's history and the current page state to the Allure test case.
+     * Call when a test failed, while its browser is still open.
+     * @param driver The test's WebDriver instance, or null if it never started one.
+     */
+    public static void dump(WebDriver driver) {
+        if (!ENABLED) return;
+        Recording r = recording.get();
+        // Format the history first, the commands below are recorded too
+        Allure.addAttachment("flight_recorder", "text/plain", history(r), "txt");
+        for (long i = Math.max(0, r.screenshotCount - THUMBNAILS); i < r.screenshotCount; i++) {
+            int slot = (int) (i % THUMBNAILS);
+            attachThumbnail("thumbnail_" + r.screenshotNames[slot], r.screenshots[slot]);
+        }
+        if (driver == null) return;
+        try {
+            Allure.addAttachment("browser_console", "text/plain", console(driver, r.testStartMillis), "txt");
+        } catch (RuntimeException e) {
+            logger.fine("No browser console log: " + e.getMessage());
+        }
+        try {
+            Allure.addAttachment("page_source", "text/html", driver.getPageSource(), "html");
+            Allure.addAttachment("full_page", "image/png", new ByteArrayInputStream(fullPageScreenshot(driver)), "png");
+        } catch (RuntimeException e) {
+            logger.warning("Could not capture the failed page: " + e.getMessage());
+        }
+    }
+
+    private static String history(Recording r) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%-8s %-24s %10s %-6s %s%n", "t+ms", "command", "ms", "result", "url"));
+        long first = Math.max(0, r.count - SIZE);
+        long origin = r.testStartMillis;
+        for (long i = first; i < r.count; i++) {
+            int slot = (int) (i % SIZE);
+            String name = r.marks[slot] ? "-- " + r.names[slot] : r.names[slot];
+            text.append(String.format("%-8d %-24s %10s %-6s %s%n",
+                    r.startMillis[slot] - origin, name,
+                    r.marks[slot] ? "" : String.format("%.1f", r.durationNanos[slot] / 1e6),
+                    r.marks[slot] ? "" : r.failed[slot] ? "error" : "ok",
+                    r.urls[slot] == null ? "" : r.urls[slot]));
+        }
+        if (first > 0) text.append("(").append(first).append(" earlier events not kept)\n");
+        return text.toString();
+    }
+
+    private static String console(WebDriver driver, long since) {
+        StringBuilder text = new StringBuilder();
+        for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+            // Pooled sessions still hold entries of earlier tests
+            if (entry.getTimestamp() >= since) {
+                text.append(entry.getTimestamp() - since).append("ms ")
+                        .append(entry.getLevel()).append(' ').append(entry.getMessage()).append('\n');
+            }
+        }
+        return text.length() == 0 ? "(no console entries)" : text.toString();
+    }
+
+    /**
+     * Captures the whole page through DevTools, or the viewport when DevTools is not available.
+     */
+    private static byte[] fullPageScreenshot(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("format", "png");
+            params.put("captureBeyondViewport", true);
+            Object data = ((HasCdp) driver).executeCdpCommand("Page.captureScreenshot", params).get("data");
+            if (data != null) return Base64.getDecoder().decode(data.toString().getBytes(StandardCharsets.US_ASCII));
+        }
+        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    }
+
+    private static void attachThumbnail(String name, byte[] png) {
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+            if (source == null) return;
+            int width = Math.min(THUMBNAIL_WIDTH, source.getWidth());
+            int height = Math.max(1, source.getHeight() * width / source.getWidth());
+            BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = target.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+            g.dispose();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(target, "jpeg", out);
+            Allure.addAttachment(name, "image/jpeg", new ByteArrayInputStream(out.toByteArray()), "jpg");
+        } catch (IOException e) {
+            logger.warning("Could not create thumbnail '" + name + "': " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills a form and submits it, either keystroke by keystroke or in a single browser call.
+ * input.mode=keys (the default) types with sendKeys and clicks submit, exactly like a user.
+ * input.mode=fast sets every value through the native value setter and fires the input and change
+ * events a user would trigger, so frameworks that track field state (such as React on SauceDemo)
+ * see the new values, then clicks submit, all in one round trip.
+ * Use keys for tests about typing behaviour and fast for data-driven runs.
+ */
+public class FormInput {
+
+    private static final String FILL_SCRIPT =
+            "var fields = arguments[0], submit = arguments[1];"
+            + "fields.forEach(function (field) {"
+            + "  var element = field[0];"
+            + "  var setter = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(element), 'value').set;"
+            + "  element.focus();"
+            + "  setter.call(element, element.value + field[1]);" // sendKeys appends, so does fast mode
+            + "  element.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  element.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "  element.blur();"
+            + "});"
+            + "submit.click();";
+
+    /**
+     * Enters the values into their fields, in order, and clicks the submit element.
+     *
+     * @param driver The active WebDriver instance.
+     * @param fields Fields and the text to enter in each, in input order (e.g. a LinkedHashMap).
+     * @param submit Button that submits the form.
+     */
+    public static void fillAndSubmit(WebDriver driver, Map<WebElement, String> fields, WebElement submit) {
+        if ("fast".equalsIgnoreCase(ConfigReader.get("input.mode", "keys"))) {
+            List<List<Object>> pairs = new ArrayList<>(fields.size());
+            for (Map.Entry<WebElement, String> field : fields.entrySet()) {
+                List<Object> pair = new ArrayList<>(2);
+                pair.add(field.getKey());
+                pair.add(field.getValue());
+                pairs.add(pair);
+            }
+            ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, pairs, submit);
+            return;
+        }
+        for (Map.Entry<WebElement, String> field : fields.entrySet()) {
+            field.getKey().sendKeys(field.getValue());
+        }
+        submit.click();
+    }
+}
@@ -0,0 +1,24 @@
+package utils;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+/**
+ * Records Allure steps (@Step methods and Allure.step calls) in the {@link RunJournal}.
+ * Registered through META-INF/services, so every step of every test is journaled without code changes.
+ */
+public class JournalStepListener implements StepLifecycleListener {
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        RunJournal.record(RunJournal.EventType.STEP_START, "allure", result.getName(), 0, null);
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        long durationNanos = result.getStart() == null || result.getStop() == null
+                ? 0 : (result.getStop() - result.getStart()) * 1_000_000;
+        String status = result.getStatus() == null ? "unknown" : result.getStatus().value();
+        RunJournal.record(RunJournal.EventType.STEP_END, "allure", result.getName(), durationNanos, () -> status);
+    }
+}
@@ -0,0 +1,36 @@
+package utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum time a step may take, placed next to Allure's @Step on a test helper or page object method.
+ * Enforced by {@link LatencyBudgetAspect} when the suite runs with the AspectJ weaver agent (configured
+ * for surefire in pom.xml). The budget is multiplied by latency.budget.factor, e.g. 2 on slow CI machines.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LatencyBudget {
+
+    /** What happens when a step exceeds its budget. */
+    enum Action {
+        /** Fail the test with an AssertionError. */
+        FAIL,
+        /** Add a broken "Latency budget exceeded" step to the report and let the test continue. */
+        FLAG
+    }
+
+    /**
+     * @return Budget in milliseconds.
+     */
+    long millis();
+
+    /**
+     * @return Action taken when the step takes longer than its budget.
+     */
+    Action action() default Action.FAIL;
+}
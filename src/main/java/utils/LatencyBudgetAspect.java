@@ -0,0 +1,107 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Status;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Times every method annotated with {@link LatencyBudget} and enforces its budget.
+ * Latencies are also recorded per account (see {@link #setAccount}) and step, so runs of the same
+ * flow under different users can be compared with {@link #deltaReport}.
+ * Woven at load time: see META-INF/aop.xml and the surefire argLine in pom.xml.
+ */
+@Aspect
+public class LatencyBudgetAspect {
+    private static final Logger logger = Logger.getLogger(LatencyBudgetAspect.class.getName());
+
+    private static final String DEFAULT_ACCOUNT = "default";
+
+    // account -> step -> latencies
+    private static final Map<String, Map<String, LatencyHistogram>> latencies = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> currentAccount = new ThreadLocal<>();
+
+    /**
+     * Sets the account that steps run by the calling thread are attributed to.
+     * @param account SauceDemo username, or null to clear.
+     */
+    public static void setAccount(String account) {
+        if (account == null) currentAccount.remove();
+        else currentAccount.set(account);
+    }
+
+    @Around("execution(* *(..)) && @annotation(budget)")
+    public Object enforce(ProceedingJoinPoint joinPoint, LatencyBudget budget) throws Throwable {
+        long start = System.nanoTime();
+        Object result = joinPoint.proceed(); // Failed steps are not timed; their failure is reported already
+        long elapsedNanos = System.nanoTime() - start;
+
+        String step = joinPoint.getSignature().getName();
+        String account = currentAccount.get() == null ? DEFAULT_ACCOUNT : currentAccount.get();
+        latencies.computeIfAbsent(account, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(step, key -> new LatencyHistogram())
+                .record(elapsedNanos);
+
+        double factor = Double.parseDouble(ConfigReader.get("latency.budget.factor", "1"));
+        long budgetMillis = (long) (budget.millis() * factor);
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        if (elapsedMillis > budgetMillis) {
+            String message = String.format("Step %s took %d ms for %s, budget is %d ms",
+                    step, elapsedMillis, account, budgetMillis);
+            if (budget.action() == LatencyBudget.Action.FAIL) {
+                throw new AssertionError(message);
+            }
+            logger.warning(message);
+            Allure.step("Latency budget exceeded: " + message, Status.BROKEN);
+        }
+        return result;
+    }
+
+    /**
+     * Compares the median latency of every step of each account with the same step of a baseline account.
+     * @param baseline Account the others are compared to, e.g. "standard_user".
+     * @return One line per account and step with both medians, the difference and the ratio.
+     */
+    public static String deltaReport(String baseline) {
+        Map<String, LatencyHistogram> base = latencies.getOrDefault(baseline, new TreeMap<>());
+        StringBuilder report = new StringBuilder(String.format("%-26s %-20s %10s %10s %10s %7s%n",
+                "account", "step", "p50 ms", "base ms", "delta ms", "ratio"));
+        new TreeMap<>(latencies).forEach((account, steps) -> new TreeMap<>(steps).forEach((step, histogram) -> {
+            double p50 = histogram.quantileMillis(0.5);
+            LatencyHistogram baseHistogram = base.get(step);
+            double baseP50 = baseHistogram == null ? Double.NaN : baseHistogram.quantileMillis(0.5);
+            report.append(String.format("%-26s %-20s %10.1f %10.1f %10.1f %7.2f%n",
+                    account, step, p50, baseP50, p50 - baseP50, p50 / baseP50));
+        }));
+        return report.toString();
+    }
+
+    /**
+     * Finds the steps whose median latency is more than the given delta above the same step of the baseline.
+     * Steps the baseline did not run are skipped.
+     * @param baseline       Account the others are compared to.
+     * @param maxDeltaMillis Largest accepted difference between the medians.
+     * @return One line per account and step over the limit, empty if none is.
+     */
+    public static List<String> deltasOver(String baseline, double maxDeltaMillis) {
+        Map<String, LatencyHistogram> base = latencies.getOrDefault(baseline, new TreeMap<>());
+        List<String> over = new ArrayList<>();
+        new TreeMap<>(latencies).forEach((account, steps) -> new TreeMap<>(steps).forEach((step, histogram) -> {
+            LatencyHistogram baseHistogram = base.get(step);
+            if (baseHistogram == null) return;
+            double delta = histogram.quantileMillis(0.5) - baseHistogram.quantileMillis(0.5);
+            if (delta > maxDeltaMillis) {
+                over.add(String.format("%s %s is %.0f ms slower than %s", account, step, delta, baseline));
+            }
+        }));
+        return over;
+    }
+}
@@ -0,0 +1,86 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with exponential buckets.
+ * Each bucket is 10% wider than the previous one, starting at 0.1 ms and covering a bit over
+ * one minute, so quantiles are accurate to within 10% while recording stays a single atomic increment.
+ */
+public class LatencyHistogram {
+    private static final double FIRST_BOUND_NANOS = 100_000; // 0.1 ms
+    private static final double GROWTH = 1.1;
+    private static final int BUCKETS = 142;                  // 0.1 ms * 1.1^141 ~ 68 s; the last bucket is open ended
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Records one observation.
+     * @param nanos Duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(nanos));
+        totalNanos.add(nanos);
+        count.increment();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return Sum of all recorded durations in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Estimates a quantile from the bucket counts.
+     * @param quantile Value between 0 and 1, e.g. 0.99 for the 99th percentile.
+     * @return Upper bound of the bucket holding the quantile, in milliseconds (0 when empty).
+     */
+    public double quantileMillis(double quantile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return upperBoundNanos(i) / 1e6;
+        }
+        return upperBoundNanos(BUCKETS - 1) / 1e6;
+    }
+
+    /**
+     * Counts observations at or below a bound, as needed for Prometheus "le" buckets.
+     * @param boundMillis Inclusive upper bound in milliseconds.
+     * @return Number of observations whose bucket lies entirely below the bound.
+     */
+    public long countAtOrBelowMillis(double boundMillis) {
+        long result = 0;
+        for (int i = 0; i < BUCKETS && upperBoundNanos(i) <= boundMillis * 1e6; i++) {
+            result += counts.get(i);
+        }
+        return result;
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos <= FIRST_BOUND_NANOS) return 0;
+        int bucket = (int) Math.ceil(Math.log(nanos / FIRST_BOUND_NANOS) / LOG_GROWTH);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static double upperBoundNanos(int bucket) {
+        return FIRST_BOUND_NANOS * Math.pow(GROWTH, bucket);
+    }
+}
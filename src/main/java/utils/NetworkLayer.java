@@ -0,0 +1,296 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * DevTools network layer attached to every Chrome session started by {@link DriverFactory}.
+ * Requests to hosts listed in network.blocked.hosts (analytics, error reporting) are answered
+ * with an empty response without leaving the browser. Static assets (scripts, styles, fonts,
+ * images) are served from a cache shared by all sessions of the JVM: in memory, and when
+ * network.cache.dir is set, on disk so later runs start warm too.
+ * The cache follows the server's Cache-Control header: no-store, no-cache and Set-Cookie responses are
+ * never cached, and max-age (or s-maxage) bounds how long an asset is served. Assets without max-age are
+ * kept in memory for the current run only. Cached responses replay the original headers, e.g. CORS headers.
+ */
+public class NetworkLayer {
+    private static final Logger logger = Logger.getLogger(NetworkLayer.class.getName());
+
+    // Tags the disk file layout; files written in another layout are ignored
+    private static final int DISK_FORMAT = 0x41535432; // "AST2"
+
+    // Describe the original transfer rather than the cached body, so they are not replayed
+    private static final Set<String> SKIPPED_HEADERS = new HashSet<>(Arrays.asList(
+            "content-length", "content-encoding", "transfer-encoding", "connection", "keep-alive", "date", "age"));
+
+    private static final String[] STATIC_EXTENSIONS = {
+            ".js", ".css", ".woff", ".woff2", ".ttf", ".otf", ".png", ".jpg", ".jpeg", ".gif", ".svg", ".webp", ".ico"};
+
+    private static final Map<String, Asset> memory = new ConcurrentHashMap<>();
+    private static final AtomicLong memoryBytes = new AtomicLong();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong bytesSaved = new AtomicLong();
+    private static final AtomicLong blocked = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> logger.info(stats()), "network-layer-stats"));
+    }
+
+    /** A cached response: its headers, body and the time after which it must be fetched again. */
+    private static final class Asset {
+        final List<String[]> headers;
+        final byte[] body;
+        final long expiresAtMillis; // Long.MAX_VALUE: no max-age, kept for this run only
+
+        Asset(List<String[]> headers, byte[] body, long expiresAtMillis) {
+            this.headers = headers;
+            this.body = body;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAtMillis;
+        }
+    }
+
+    /**
+     * Starts intercepting the session's traffic if network.intercept.enabled is set.
+     * Must be called on the raw ChromeDriver, before it is wrapped by a decorator.
+     * A session whose DevTools connection cannot be opened keeps running without the layer.
+     *
+     * @param driver A freshly started Chrome session.
+     */
+    public static void attach(WebDriver driver) {
+        if (!ConfigReader.getBoolean("network.intercept.enabled", true)) return;
+        try {
+            new NetworkInterceptor(driver, filter(blockedHosts()));
+        } catch (RuntimeException e) {
+            logger.warning("Network layer not attached, continuing without it: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return One line summary of the cache and blocking counters, e.g. for logging at the end of a run.
+     */
+    public static String stats() {
+        return String.format("NetworkLayer[hits=%d, misses=%d, bytesSaved=%d, blocked=%d, memoryBytes=%d]",
+                hits.get(), misses.get(), bytesSaved.get(), blocked.get(), memoryBytes.get());
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public static long getBlocked() {
+        return blocked.get();
+    }
+
+    private static Filter filter(List<String> blockedHosts) {
+        return next -> request -> {
+            URI uri = URI.create(request.getUri());
+            if (isBlocked(uri.getHost(), blockedHosts)) {
+                blocked.incrementAndGet();
+                return new HttpResponse().setStatus(204);
+            }
+            // Local servers (e.g. the stand-in) are fast already and may serve different content per run
+            if (request.getMethod() != HttpMethod.GET || !isStatic(uri.getPath()) || isLocal(uri.getHost())) {
+                return next.execute(request);
+            }
+
+            String key = request.getUri();
+            Asset asset = lookup(key);
+            if (asset != null) {
+                hits.incrementAndGet();
+                bytesSaved.addAndGet(asset.body.length);
+                HttpResponse cached = new HttpResponse().setStatus(200).setContent(Contents.bytes(asset.body));
+                for (String[] header : asset.headers) {
+                    cached.addHeader(header[0], header[1]);
+                }
+                return cached;
+            }
+
+            misses.incrementAndGet();
+            HttpResponse response = next.execute(request);
+            long expiresAt = response.getStatus() == 200 ? expiresAt(response) : -1;
+            if (expiresAt > System.currentTimeMillis()) {
+                byte[] body = Contents.bytes(response.getContent());
+                List<String> names = new ArrayList<>();
+                response.getHeaderNames().forEach(names::add);
+                List<String[]> headers = new ArrayList<>();
+                for (String name : names) {
+                    if (SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) continue;
+                    for (String value : response.getHeaders(name)) {
+                        headers.add(new String[]{name, value});
+                    }
+                }
+                store(key, new Asset(headers, body, expiresAt));
+                response.setContent(Contents.bytes(body)); // The original stream has been consumed
+            }
+            return response;
+        };
+    }
+
+    /**
+     * @return Time until which the response may be served from the cache: now + max-age,
+     *         Long.MAX_VALUE without max-age (this run only), or -1 when it must not be cached.
+     */
+    private static long expiresAt(HttpResponse response) {
+        if (response.getHeader("Set-Cookie") != null) return -1;
+        String cacheControl = response.getHeader("Cache-Control");
+        if (cacheControl == null) return Long.MAX_VALUE;
+        long maxAgeSeconds = -1;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String name = directive.trim();
+            String value = null;
+            int equals = name.indexOf('=');
+            if (equals >= 0) {
+                value = name.substring(equals + 1).trim().replace("\"", "");
+                name = name.substring(0, equals).trim();
+            }
+            if ("no-store".equals(name) || "no-cache".equals(name)) return -1;
+            if (("max-age".equals(name) && maxAgeSeconds < 0) || "s-maxage".equals(name)) {
+                try {
+                    maxAgeSeconds = Long.parseLong(value);
+                } catch (NumberFormatException | NullPointerException e) {
+                    return -1; // Unreadable freshness: do not guess
+                }
+            }
+        }
+        return maxAgeSeconds < 0 ? Long.MAX_VALUE : System.currentTimeMillis() + maxAgeSeconds * 1000;
+    }
+
+    private static List<String> blockedHosts() {
+        List<String> hosts = new ArrayList<>();
+        for (String host : ConfigReader.get("network.blocked.hosts", "").split(",")) {
+            if (!host.trim().isEmpty()) hosts.add(host.trim().toLowerCase(Locale.ROOT));
+        }
+        return hosts;
+    }
+
+    /** Matches the host itself and its subdomains, e.g. "backtrace.io" blocks "events.backtrace.io". */
+    private static boolean isBlocked(String host, List<String> blockedHosts) {
+        if (host == null) return false;
+        String lower = host.toLowerCase(Locale.ROOT);
+        for (String blockedHost : blockedHosts) {
+            if (lower.equals(blockedHost) || lower.endsWith("." + blockedHost)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isLocal(String host) {
+        return "localhost".equalsIgnoreCase(host) || "127.0.0.1".equals(host) || "[::1]".equals(host);
+    }
+
+    private static boolean isStatic(String path) {
+        if (path == null) return false;
+        String lower = path.toLowerCase(Locale.ROOT);
+        for (String extension : STATIC_EXTENSIONS) {
+            if (lower.endsWith(extension)) return true;
+        }
+        return false;
+    }
+
+    private static Asset lookup(String url) {
+        Asset asset = memory.get(url);
+        if (asset != null) {
+            if (asset.isFresh()) return asset;
+            if (memory.remove(url, asset)) memoryBytes.addAndGet(-asset.body.length);
+            return null;
+        }
+        Path file = diskPath(url);
+        if (file == null || !Files.isRegularFile(file)) return null;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != DISK_FORMAT) return null;
+            long expiresAt = in.readLong();
+            if (System.currentTimeMillis() >= expiresAt) return null;
+            int headerCount = in.readInt();
+            List<String[]> headers = new ArrayList<>(headerCount);
+            for (int i = 0; i < headerCount; i++) {
+                headers.add(new String[]{in.readUTF(), in.readUTF()});
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            asset = new Asset(headers, body, expiresAt);
+            remember(url, asset);
+            return asset;
+        } catch (IOException e) {
+            logger.warning("Ignoring unreadable cached asset " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void store(String url, Asset asset) {
+        remember(url, asset);
+        Path file = diskPath(url);
+        // Only assets with an explicit lifetime outlive the run
+        if (file == null || asset.expiresAtMillis == Long.MAX_VALUE) return;
+        try {
+            Files.createDirectories(file.getParent());
+            // Write to a temporary file first so parallel sessions never read a half-written asset
+            Path temp = Files.createTempFile(file.getParent(), "asset", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(DISK_FORMAT);
+                out.writeLong(asset.expiresAtMillis);
+                out.writeInt(asset.headers.size());
+                for (String[] header : asset.headers) {
+                    out.writeUTF(header[0]);
+                    out.writeUTF(header[1]);
+                }
+                out.writeInt(asset.body.length);
+                out.write(asset.body);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warning("Could not write cached asset for " + url + ": " + e.getMessage());
+        }
+    }
+
+    /** Keeps the asset in memory unless that would exceed network.cache.memory.mb. */
+    private static void remember(String url, Asset asset) {
+        long limit = ConfigReader.getInt("network.cache.memory.mb", 64) * 1024L * 1024L;
+        if (memoryBytes.get() + asset.body.length > limit) return;
+        Asset previous = memory.put(url, asset);
+        memoryBytes.addAndGet(asset.body.length - (previous == null ? 0 : previous.body.length));
+    }
+
+    /** @return Disk location of a URL's cached asset, or null when the disk cache is disabled. */
+    private static Path diskPath(String url) {
+        String dir = ConfigReader.get("network.cache.dir", "");
+        if (dir.isEmpty()) return null;
+        return Paths.get(dir).resolve(Hashes.sha256(url.getBytes(StandardCharsets.UTF_8)) + ".asset");
+    }
+}
@@ -0,0 +1,176 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Drop-in replacement for {@code PageFactory.initElements} that binds @FindBy, @FindBys and @FindAll fields.
+ * The fields and locators of each page class are reflected once per JVM instead of on every construction.
+ * A WebElement field is found on first use and the handle is reused by the page instance afterwards;
+ * it is looked up again only when the browser reports it stale. List fields are found again on every
+ * access, as with PageFactory, because the number of matches can change at any time.
+ */
+public class PageBinder {
+    private static final Logger logger = Logger.getLogger(PageBinder.class.getName());
+
+    private static final Map<Class<?>, List<Binding>> bindings = new ConcurrentHashMap<>();
+
+    private static final AtomicLong finds = new AtomicLong();
+    private static final AtomicLong reuses = new AtomicLong();
+    private static final AtomicLong staleRetries = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> logger.info(stats()), "page-binder-stats"));
+    }
+
+    /** A bindable field of a page class and the locator built from its annotations. */
+    private static final class Binding {
+        final Field field;
+        final By by;
+        final boolean list;
+
+        Binding(Field field, By by, boolean list) {
+            this.field = field;
+            this.by = by;
+            this.list = list;
+        }
+    }
+
+    /**
+     * Binds every annotated WebElement and List&lt;WebElement&gt; field of the page object.
+     *
+     * @param driver The active WebDriver instance.
+     * @param page   Page object, typically {@code this} in its constructor.
+     */
+    public static void bind(WebDriver driver, Object page) {
+        for (Binding binding : bindings.computeIfAbsent(page.getClass(), PageBinder::describe)) {
+            Object value = binding.list ? listProxy(driver, binding.by) : elementProxy(driver, binding.by);
+            try {
+                binding.field.set(page, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot bind " + binding.field, e);
+            }
+        }
+    }
+
+    /**
+     * @return One line summary of element lookups, e.g. for logging at the end of a run.
+     */
+    public static String stats() {
+        return String.format("PageBinder[classes=%d, finds=%d, reuses=%d, staleRetries=%d]",
+                bindings.size(), finds.get(), reuses.get(), staleRetries.get());
+    }
+
+    /** Reflects over the page class and its superclasses once. */
+    private static List<Binding> describe(Class<?> pageClass) {
+        List<Binding> result = new ArrayList<>();
+        for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(FindBy.class) && !field.isAnnotationPresent(FindBys.class)
+                        && !field.isAnnotationPresent(FindAll.class)) {
+                    continue;
+                }
+                boolean list = isWebElementList(field);
+                if (!list && field.getType() != WebElement.class) continue;
+                field.setAccessible(true);
+                result.add(new Binding(field, new Annotations(field).buildBy(), list));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static boolean isWebElementList(Field field) {
+        return field.getType() == List.class
+                && field.getGenericType() instanceof ParameterizedType
+                && ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0] == WebElement.class;
+    }
+
+    private static WebElement elementProxy(WebDriver driver, By by) {
+        return (WebElement) Proxy.newProxyInstance(PageBinder.class.getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new CachedElementHandler(driver, by));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<WebElement> listProxy(WebDriver driver, By by) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                return "Proxy element list for: " + by;
+            }
+            finds.incrementAndGet();
+            return invoke(method, driver.findElements(by), args);
+        };
+        return (List<WebElement>) Proxy.newProxyInstance(PageBinder.class.getClassLoader(), new Class<?>[]{List.class}, handler);
+    }
+
+    /** Resolves the element once and replays a call on a fresh handle when the cached one went stale. */
+    private static final class CachedElementHandler implements InvocationHandler {
+        private final WebDriver driver;
+        private final By by;
+        private WebElement element;
+
+        CachedElementHandler(WebDriver driver, By by) {
+            this.driver = driver;
+            this.by = by;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("toString".equals(name) && method.getParameterCount() == 0) return "Proxy element for: " + by;
+            if ("hashCode".equals(name) && method.getParameterCount() == 0) return System.identityHashCode(proxy);
+            if ("equals".equals(name) && method.getParameterCount() == 1) return proxy == args[0];
+            if ("getWrappedElement".equals(name)) return resolve();
+            try {
+                return PageBinder.invoke(method, resolve(), args);
+            } catch (StaleElementReferenceException e) {
+                // The page re-rendered the element since it was found; find it again and retry once
+                staleRetries.incrementAndGet();
+                synchronized (this) {
+                    element = null;
+                }
+                return PageBinder.invoke(method, resolve(), args);
+            }
+        }
+
+        private synchronized WebElement resolve() {
+            if (element != null) {
+                reuses.incrementAndGet();
+                return element;
+            }
+            finds.incrementAndGet();
+            element = driver.findElement(by);
+            return element;
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package utils;
+
+/**
+ * Products of the standard SauceDemo catalog.
+ * The id is the value the application stores in the "cart-contents" localStorage entry.
+ */
+public enum Product {
+    BIKE_LIGHT(0, "Sauce Labs Bike Light", 9.99,
+            "A red light isn't the desired state in testing but it sure helps when riding your bike at night."),
+    BOLT_TSHIRT(1, "Sauce Labs Bolt T-Shirt", 15.99,
+            "Get your testing superhero on with the Sauce Labs bolt T-shirt."),
+    ONESIE(2, "Sauce Labs Onesie", 7.99,
+            "Rib snap infant onesie for the junior automation engineer in development."),
+    RED_TSHIRT(3, "Test.allTheThings() T-Shirt (Red)", 15.99,
+            "This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests."),
+    BACKPACK(4, "Sauce Labs Backpack", 29.99,
+            "carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection."),
+    FLEECE_JACKET(5, "Sauce Labs Fleece Jacket", 49.99,
+            "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office.");
+
+    private final int id;
+    private final String displayName;
+    private final double price;
+    private final String description;
+
+    Product(int id, String displayName, double price, String description) {
+        this.id = id;
+        this.displayName = displayName;
+        this.price = price;
+        this.description = description;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return Product name exactly as shown on the inventory and cart pages.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,41 @@
+package utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Records facts about the current run (e.g. the driver profile) in environment.properties
+ * inside the Allure results directory, where the report shows them in its Environment section.
+ */
+public class RunEnvironment {
+    private static final Logger logger = Logger.getLogger(RunEnvironment.class.getName());
+    private static final Map<String, String> entries = new TreeMap<>();
+
+    /**
+     * Adds or replaces an entry and rewrites environment.properties.
+     *
+     * @param key   Entry name, e.g. "driver.profile".
+     * @param value Entry value, e.g. "fast-ci".
+     */
+    public static synchronized void record(String key, String value) {
+        if (value.equals(entries.put(key, value))) return;
+        Properties properties = new Properties();
+        properties.putAll(entries);
+        Path dir = Paths.get(System.getProperty("allure.results.directory", "allure-results"));
+        try {
+            Files.createDirectories(dir);
+            try (OutputStream out = Files.newOutputStream(dir.resolve("environment.properties"))) {
+                properties.store(out, "Recorded by the test run");
+            }
+        } catch (IOException e) {
+            logger.warning("Could not write Allure environment: " + e.getMessage());
+        }
+    }
+}
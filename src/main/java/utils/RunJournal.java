@@ -0,0 +1,256 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Structured journal of the run, written as one JSON object per line to journal.dir/run-journal.jsonl.
+ * Test threads only claim a slot in a lock-free ring buffer and store the event; a background thread
+ * builds the messages and writes them, so recording costs no I/O and no string building on the test thread.
+ * Every event carries the correlation id of the test running on its thread (see {@link #beginCorrelation}),
+ * which keeps the events of parallel tests apart. When the buffer is full, events are dropped and counted
+ * rather than slowing tests down.
+ */
+public class RunJournal {
+    private static final Logger logger = Logger.getLogger(RunJournal.class.getName());
+
+    /** Kind of a journal event. */
+    public enum EventType {
+        TEST_START, TEST_END, STEP_START, STEP_END, COMMAND, WAIT, ASSERTION, LOG
+    }
+
+    /** One journal entry. The message is built on the writer thread. */
+    private static final class Event {
+        final EventType type;
+        final long timeMillis = System.currentTimeMillis();
+        final String thread = Thread.currentThread().getName();
+        final String correlationId;
+        final String source;
+        final String name;
+        final long durationNanos;
+        final Supplier<String> message;
+
+        Event(EventType type, String correlationId, String source, String name, long durationNanos, Supplier<String> message) {
+            this.type = type;
+            this.correlationId = correlationId;
+            this.source = source;
+            this.name = name;
+            this.durationNanos = durationNanos;
+            this.message = message;
+        }
+    }
+
+    /** Events of one class, e.g. a page object or test; replaces a java.util.logging Logger. */
+    public static final class Channel {
+        private final String source;
+
+        private Channel(String source) {
+            this.source = source;
+        }
+
+        /**
+         * Records a log message. The supplier runs on the writer thread, so it must not depend on
+         * state that the caller changes afterwards.
+         * @param message Builds the message text.
+         */
+        public void info(Supplier<String> message) {
+            record(EventType.LOG, source, "info", 0, message);
+        }
+
+        /**
+         * Records a warning. See {@link #info(Supplier)}.
+         * @param message Builds the message text.
+         */
+        public void warn(Supplier<String> message) {
+            record(EventType.LOG, source, "warn", 0, message);
+        }
+    }
+
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(2, ConfigReader.getInt("journal.buffer.size", 8192)));
+    private static final int MASK = CAPACITY - 1;
+    private static final boolean ENABLED = ConfigReader.getBoolean("journal.enabled", true);
+
+    // Ring buffer: producers claim a sequence with CAS on head, the single writer advances tail.
+    // published[slot] holds the sequence last written to the slot, so the writer knows when it is complete.
+    private static final AtomicReferenceArray<Event> slots = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLongArray published = new AtomicLongArray(CAPACITY);
+    private static final AtomicLong head = new AtomicLong();
+    private static final AtomicLong tail = new AtomicLong();
+
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong correlationCounter = new AtomicLong();
+    private static final ThreadLocal<String> correlationId = new ThreadLocal<>();
+
+    private static volatile boolean running = true;
+    private static final Thread writer = startWriter();
+
+    /**
+     * @param type Class whose events the channel records.
+     * @return Channel tagging events with the class's simple name.
+     */
+    public static Channel channel(Class<?> type) {
+        return new Channel(type.getSimpleName());
+    }
+
+    /**
+     * Starts a new correlation id for the calling thread, e.g. when a test starts.
+     * @param testName Test the id belongs to, recorded with a TEST_START event.
+     */
+    public static void beginCorrelation(String testName) {
+        correlationId.set(Long.toString(correlationCounter.incrementAndGet(), 36) + "-" + Thread.currentThread().getId());
+        record(EventType.TEST_START, "test", testName, 0, null);
+    }
+
+    /**
+     * Ends the calling thread's correlation with a TEST_END event.
+     * @param testName      Test that ended.
+     * @param status        Outcome, e.g. "passed".
+     * @param durationNanos Test duration.
+     */
+    public static void endCorrelation(String testName, String status, long durationNanos) {
+        record(EventType.TEST_END, "test", testName, durationNanos, () -> status);
+        correlationId.remove();
+    }
+
+    /**
+     * Records an event.
+     * @param type          Event kind.
+     * @param source        Component that produced it, e.g. "CommandMetrics" or a page object.
+     * @param name          Short name, e.g. the driver command or step name.
+     * @param durationNanos Duration for events that measure something, otherwise 0.
+     * @param message       Builds the message on the writer thread, or null for none.
+     */
+    public static void record(EventType type, String source, String name, long durationNanos, Supplier<String> message) {
+        if (!ENABLED) return;
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail.get() >= CAPACITY) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+        int slot = (int) (sequence & MASK);
+        slots.set(slot, new Event(type, correlationId.get(), source, name, durationNanos, message));
+        published.set(slot, sequence + 1); // +1 so the initial 0 never matches sequence 0
+    }
+
+    /**
+     * @return Number of events dropped because the buffer was full.
+     */
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    private static Thread startWriter() {
+        if (!ENABLED) return null;
+        Thread thread = new Thread(RunJournal::drainLoop, "run-journal-writer");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            running = false;
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "run-journal-shutdown"));
+        return thread;
+    }
+
+    private static void drainLoop() {
+        Path file = Paths.get(ConfigReader.get("journal.dir", "target/journal")).resolve("run-journal.jsonl");
+        try {
+            Files.createDirectories(file.getParent());
+        } catch (IOException e) {
+            logger.warning("Run journal disabled, cannot create " + file.getParent() + ": " + e.getMessage());
+            return;
+        }
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder(256);
+            while (true) {
+                boolean stopping = !running; // Read before draining so nothing recorded before shutdown is lost
+                int written = drain(out, line);
+                if (written == 0) {
+                    out.flush();
+                    if (stopping) break;
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                }
+            }
+            if (dropped.get() > 0) {
+                logger.warning("Run journal dropped " + dropped.get() + " events, raise journal.buffer.size");
+            }
+        } catch (IOException e) {
+            logger.warning("Run journal stopped: " + e.getMessage());
+        }
+    }
+
+    private static int drain(Writer out, StringBuilder line) throws IOException {
+        int written = 0;
+        long next = tail.get();
+        while (true) {
+            int slot = (int) (next & MASK);
+            if (published.get(slot) != next + 1) break; // Not claimed yet, or claimed but still being written
+            Event event = slots.getAndSet(slot, null);
+            tail.lazySet(++next);
+            line.setLength(0);
+            format(event, line);
+            out.write(line.toString());
+            written++;
+        }
+        return written;
+    }
+
+    private static void format(Event event, StringBuilder line) {
+        line.append("{\"time\":").append(event.timeMillis)
+                .append(",\"type\":\"").append(event.type).append('"');
+        field(line, "thread", event.thread);
+        field(line, "correlationId", event.correlationId);
+        field(line, "source", event.source);
+        field(line, "name", event.name);
+        if (event.durationNanos > 0) {
+            line.append(",\"durationMs\":").append(event.durationNanos / 1_000_000.0);
+        }
+        if (event.message != null) {
+            String message;
+            try {
+                message = event.message.get();
+            } catch (RuntimeException e) {
+                message = "<message failed: " + e + ">";
+            }
+            field(line, "message", message);
+        }
+        line.append("}\n");
+    }
+
+    private static void field(StringBuilder line, String key, String value) {
+        if (value == null) return;
+        line.append(",\"").append(key).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': line.append("\\\""); break;
+                case '\\': line.append("\\\\"); break;
+                case '\n': line.append("\\n"); break;
+                case '\r': line.append("\\r"); break;
+                case '\t': line.append("\\t"); break;
+                default:
+                    if (c < 0x20) line.append(String.format("\\u%04x", (int) c));
+                    else line.append(c);
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,175 @@
+package utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Embedded HTTP server serving a stand-in for the SauceDemo site.
+ * The login, inventory, cart and checkout pages use the same element ids, classes, cookie and
+ * localStorage keys as the real site, so the page objects work unchanged against it.
+ * The catalog holds the six real products, followed by generated products when a larger
+ * catalog is requested (e.g. 1,000 or 10,000 items) to measure how the page layer scales.
+ */
+public class SauceDemoStandIn {
+    private static final Logger logger = Logger.getLogger(SauceDemoStandIn.class.getName());
+
+    private static final String[] PAGES = {
+            "index.html", "inventory.html", "cart.html",
+            "checkout-step-one.html", "checkout-step-two.html", "checkout-complete.html", "app.js", "style.css"};
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> resources = new HashMap<>();
+
+    private SauceDemoStandIn(HttpServer server, int catalogSize, long glitchDelayMillis) {
+        this.server = server;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "saucedemo-standin");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (String page : PAGES) {
+            resources.put("/" + page, readResource("standin/" + page));
+        }
+        resources.put("/catalog.js", catalogScript(catalogSize, glitchDelayMillis));
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts the stand-in on the loopback interface.
+     *
+     * @param port        Port to listen on, or 0 for any free port.
+     * @param catalogSize Number of products in the catalog (at least 6).
+     * @return The running server.
+     */
+    public static SauceDemoStandIn start(int port, int catalogSize) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        SauceDemoStandIn standIn = new SauceDemoStandIn(server, catalogSize,
+                ConfigReader.getInt("standin.glitch.delay.ms", 3000));
+        server.start();
+        logger.info("SauceDemo stand-in with " + Math.max(catalogSize, Product.values().length)
+                + " products listening on " + standIn.getBaseUrl());
+        return standIn;
+    }
+
+    /**
+     * @return Base URL to use as base.url, e.g. "http://localhost:51234/".
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Stops the server and its worker threads.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if ("/".equals(path)) path = "/index.html";
+        byte[] body = resources.get(path);
+        try {
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType(path));
+            if (!path.endsWith(".html")) {
+                exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Builds catalog.js: the real products first, then generated ones up to the requested size.
+     * Generated prices are random but reproducible, so sorting results are stable between runs.
+     */
+    static byte[] catalogScript(int catalogSize, long glitchDelayMillis) {
+        List<Map<String, Object>> catalog = new ArrayList<>();
+        for (Product product : Product.values()) {
+            catalog.add(item(product.getId(), product.getDisplayName(), product.getDescription(), product.getPrice()));
+        }
+        catalog.sort((a, b) -> Integer.compare((Integer) a.get("id"), (Integer) b.get("id")));
+        Random random = new Random(42);
+        for (int id = catalog.size(); id < catalogSize; id++) {
+            double price = (random.nextInt(9900) + 100) / 100.0;
+            catalog.add(item(id, String.format("Sauce Labs Generated Item %05d", id),
+                    "Generated product number " + id + " of the synthetic catalog.", price));
+        }
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("glitchDelayMs", glitchDelayMillis);
+
+        String script = "window.CATALOG = " + compactJson(catalog) + ";\n"
+                + "window.STANDIN = " + compactJson(settings) + ";\n";
+        return script.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String compactJson(Object value) {
+        StringBuilder json = new StringBuilder();
+        try (JsonOutput out = new Json().newOutput(json)) {
+            out.setPrettyPrint(false).write(value);
+        }
+        return json.toString();
+    }
+
+    private static Map<String, Object> item(int id, String name, String description, double price) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", id);
+        item.put("name", name);
+        item.put("desc", description);
+        item.put("price", price);
+        return item;
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".html")) return "text/html; charset=utf-8";
+        if (path.endsWith(".js")) return "application/javascript; charset=utf-8";
+        if (path.endsWith(".css")) return "text/css; charset=utf-8";
+        return "application/octet-stream";
+    }
+
+    private static byte[] readResource(String name) {
+        try (InputStream in = SauceDemoStandIn.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) throw new IllegalStateException("Missing stand-in resource " + name);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read stand-in resource " + name, e);
+        }
+    }
+}
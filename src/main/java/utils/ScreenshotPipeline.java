@@ -0,0 +1,287 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Captures screenshots for the Allure report with as little work on the test thread as possible.
+ * On Chrome the browser encodes the image in the final format (screenshot.format, screenshot.quality)
+ * and size (screenshot.scale) through DevTools Page.captureScreenshot, so only the small image crosses
+ * the wire. The capture itself is still a synchronous browser call on the test thread.
+ * Writing the attachment happens on a background worker fed by a bounded queue; when the queue is full
+ * the test thread does the work itself, so no evidence is lost. Drivers without DevTools return a
+ * full-size PNG, which the worker downscales and re-encodes before writing it.
+ *
+ * Which screenshots are kept is controlled by screenshot.policy:
+ * every_step (default), first_last (first step plus the state at the end of the test),
+ * failures_only (a single screenshot when a test fails) or none.
+ */
+public class ScreenshotPipeline {
+    private static final Logger logger = Logger.getLogger(ScreenshotPipeline.class.getName());
+
+    /**
+     * Decides which screenshots end up in the report.
+     */
+    public enum Policy { EVERY_STEP, FIRST_LAST, FAILURES_ONLY, NONE }
+
+    private static final Policy policy = Policy.valueOf(
+            ConfigReader.get("screenshot.policy", "every_step").toUpperCase(Locale.ROOT));
+    private static final String format = resolveFormat(ConfigReader.get("screenshot.format", "jpg"));
+    private static final float quality = Float.parseFloat(ConfigReader.get("screenshot.quality", "0.8"));
+    private static final double scale = Double.parseDouble(ConfigReader.get("screenshot.scale", "1.0"));
+
+    private static final ThreadPoolExecutor encoder = createEncoder();
+
+    // Screenshots handed to the encoder and not written yet; flush() waits for this to reach 0
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static final Object drained = new Object();
+
+    // Per test thread: whether the first screenshot was taken, and the latest one held back for first_last
+    private static final ThreadLocal<TestShots> currentTest = ThreadLocal.withInitial(TestShots::new);
+
+    /**
+     * Captures a screenshot for the current test step, subject to the configured policy.
+     *
+     * @param driver The active WebDriver instance.
+     * @param name   Attachment name shown in the report (e.g. "01_cart_verified").
+     */
+    public static void capture(WebDriver driver, String name) {
+        TestShots shots = currentTest.get();
+        FlightRecorder.mark(name);
+        switch (policy) {
+            case EVERY_STEP:
+                shoot(driver, name, true);
+                break;
+            case FIRST_LAST:
+                if (!shots.firstTaken) {
+                    shots.firstTaken = true;
+                    shoot(driver, name, true);
+                } else {
+                    shots.pendingName = name; // Only the last step's name matters; capture at the end
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Resets the per-thread state. Call before each test method.
+     */
+    public static void testStarted() {
+        currentTest.remove();
+    }
+
+    /**
+     * Attaches the end-of-test screenshot required by the policy. Call right after each test method,
+     * while the browser is still open and the Allure test case is still active.
+     *
+     * @param driver The active WebDriver instance, or null if the test never started one.
+     * @param failed Whether the test method failed.
+     */
+    public static void testFinished(WebDriver driver, boolean failed) {
+        TestShots shots = currentTest.get();
+        currentTest.remove();
+        if (driver == null) return;
+        if (policy == Policy.FAILURES_ONLY && failed) {
+            shoot(driver, "failure", false);
+        } else if (policy == Policy.FIRST_LAST && (shots.pendingName != null || failed)) {
+            shoot(driver, failed ? "failure" : shots.pendingName, false);
+        }
+    }
+
+    /**
+     * Blocks until every queued screenshot has been written. The worker keeps running, so suites that
+     * run later in the same JVM can still capture screenshots. Call at the end of a suite.
+     */
+    public static void flush() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        synchronized (drained) {
+            try {
+                while (pending.get() > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        logger.warning("Timed out writing " + pending.get() + " queued screenshots");
+                        return;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(drained, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writes the queued screenshots and stops the worker. Runs from the JVM shutdown hook only.
+     */
+    private static void shutdown() {
+        flush();
+        encoder.shutdown();
+    }
+
+    /**
+     * Captures a screenshot and attaches it. Step screenshots are also kept by the {@link FlightRecorder}
+     * for a thumbnail on failure.
+     */
+    private static void shoot(WebDriver driver, String name, boolean record) {
+        byte[] image = captureEncoded(driver);
+        boolean encoded = image != null;
+        if (!encoded) image = TestUtil.getScreenshotBytes(driver);
+        if (record) FlightRecorder.screenshot(name, image);
+        attach(name, image, encoded);
+    }
+
+    /**
+     * Lets Chrome encode the viewport in the configured format, quality and scale.
+     * @return The finished image, or null when the driver has no DevTools or the format is not one Chrome encodes.
+     */
+    @SuppressWarnings("unchecked")
+    private static byte[] captureEncoded(WebDriver driver) {
+        if (!(driver instanceof HasCdp) || !("png".equals(format) || "jpeg".equals(format))) return null;
+        HasCdp cdp = (HasCdp) driver;
+        try {
+            Map<String, Object> params = new HashMap<>();
+            params.put("format", format);
+            if ("jpeg".equals(format)) params.put("quality", Math.round(quality * 100));
+            if (scale < 1.0) {
+                // A clip is the only way to pass a scale; it covers the visible part of the page
+                Map<String, Object> viewport = (Map<String, Object>) cdp.executeCdpCommand(
+                        "Page.getLayoutMetrics", new HashMap<>()).get("cssVisualViewport");
+                Map<String, Object> clip = new HashMap<>();
+                clip.put("x", viewport.get("pageX"));
+                clip.put("y", viewport.get("pageY"));
+                clip.put("width", viewport.get("clientWidth"));
+                clip.put("height", viewport.get("clientHeight"));
+                clip.put("scale", scale);
+                params.put("clip", clip);
+            }
+            Object data = cdp.executeCdpCommand("Page.captureScreenshot", params).get("data");
+            return data == null ? null : Base64.getDecoder().decode(data.toString().getBytes(StandardCharsets.US_ASCII));
+        } catch (RuntimeException e) {
+            logger.fine("DevTools screenshot failed, using WebDriver: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reserves the attachment in the current Allure step and hands the writing off to the worker.
+     * @param encoded Whether the image is already in the configured format and size.
+     */
+    private static void attach(String name, byte[] image, boolean encoded) {
+        if (image.length == 0) return;
+        String source = Allure.getLifecycle().prepareAttachment(name, "image/" + format, format);
+        pending.incrementAndGet();
+        Runnable write = () -> {
+            try {
+                byte[] data = encoded ? image : encode(image);
+                Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(data));
+            } catch (IOException | RuntimeException e) {
+                logger.warning("Could not write screenshot '" + name + "': " + e.getMessage());
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (drained) {
+                        drained.notifyAll();
+                    }
+                }
+            }
+        };
+        if (encoder.isShutdown()) {
+            write.run(); // JVM is exiting; CallerRunsPolicy would silently discard the task
+        } else {
+            encoder.execute(write);
+        }
+    }
+
+    /**
+     * Downscales and re-encodes a raw PNG from a driver without DevTools. Untouched PNGs are passed through.
+     */
+    static byte[] encode(byte[] png) throws IOException {
+        if ("png".equals(format) && scale >= 1.0) return png;
+
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * Math.min(scale, 1.0)));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * Math.min(scale, 1.0)));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB); // JPEG has no alpha
+        Graphics2D g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                params.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(target, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Maps the configured format to one the JDK can encode; unsupported formats fall back to PNG.
+     */
+    private static String resolveFormat(String configured) {
+        String name = configured.toLowerCase(Locale.ROOT);
+        if ("jpg".equals(name)) name = "jpeg";
+        if (!ImageIO.getImageWritersByFormatName(name).hasNext()) {
+            logger.warning("No image encoder for screenshot.format=" + configured + ", using png");
+            return "png";
+        }
+        return name;
+    }
+
+    /**
+     * Creates the background worker with a bounded queue; when full, the caller encodes inline.
+     */
+    private static ThreadPoolExecutor createEncoder() {
+        int threads = ConfigReader.getInt("screenshot.threads", 1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(ConfigReader.getInt("screenshot.queue.size", 32)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-encoder");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        Runtime.getRuntime().addShutdownHook(new Thread(ScreenshotPipeline::shutdown, "screenshot-flush"));
+        return executor;
+    }
+
+    /**
+     * Screenshot bookkeeping for the test running on one thread.
+     */
+    private static class TestShots {
+        boolean firstTaken;
+        String pendingName;
+    }
+}
@@ -0,0 +1,162 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Content-addressed store for screenshot files.
+ * Every distinct image is written once as objects/&lt;sha-256&gt;.png; taking the same screen again
+ * only records a reference. index.tsv maps each screenshot name (test/step) to the hash of its
+ * latest image. The store stays under a disk quota by evicting the least recently used images.
+ */
+public class ScreenshotStore {
+    private static final ScreenshotStore instance = new ScreenshotStore(
+            Paths.get(ConfigReader.get("screenshot.store.dir", "screenshots")),
+            ConfigReader.getInt("screenshot.store.quota.mb", 200) * 1024L * 1024L);
+
+    private final Path objectsDir;
+    private final Path indexFile;
+    private final long quotaBytes;
+
+    // Hash -> file size, least recently used first
+    private final LinkedHashMap<String, Long> objects = new LinkedHashMap<>(64, 0.75f, true);
+    // Screenshot name -> hash of its latest image
+    private final Map<String, String> index = new TreeMap<>();
+    private long totalBytes;
+
+    /**
+     * @param rootDir    Directory holding objects/ and index.tsv.
+     * @param quotaBytes Maximum total size of stored images.
+     */
+    public ScreenshotStore(Path rootDir, long quotaBytes) {
+        this.objectsDir = rootDir.resolve("objects");
+        this.indexFile = rootDir.resolve("index.tsv");
+        this.quotaBytes = quotaBytes;
+        try {
+            Files.createDirectories(objectsDir);
+            loadObjects();
+            loadIndex();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open screenshot store at " + rootDir, e);
+        }
+    }
+
+    /**
+     * @return The store configured by screenshot.store.dir and screenshot.store.quota.mb.
+     */
+    public static ScreenshotStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Stores a PNG image under the given name, writing the file only if this image is new.
+     *
+     * @param name Screenshot name, e.g. "CheckoutTest/03_cart_verified".
+     * @param png  Image bytes.
+     * @return Path of the stored image.
+     */
+    public synchronized Path store(String name, byte[] png) throws IOException {
+        String hash = Hashes.sha256(png);
+        Path object = objectsDir.resolve(hash + ".png");
+
+        if (objects.get(hash) != null) {
+            Files.setLastModifiedTime(object, FileTime.fromMillis(System.currentTimeMillis())); // LRU order survives restarts
+        } else {
+            Path temp = Files.createTempFile(objectsDir, hash, ".tmp");
+            Files.write(temp, png);
+            Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            objects.put(hash, (long) png.length);
+            totalBytes += png.length;
+            evict(hash);
+        }
+
+        index.put(name, hash);
+        writeIndex();
+        return object;
+    }
+
+    /**
+     * @return Total size of all stored images in bytes.
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Deletes least recently used images until the store fits its quota. The newest image is always kept.
+     */
+    private void evict(String keep) throws IOException {
+        Iterator<Map.Entry<String, Long>> eldest = objects.entrySet().iterator();
+        List<String> evicted = new ArrayList<>();
+        while (totalBytes > quotaBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep)) continue;
+            Files.deleteIfExists(objectsDir.resolve(entry.getKey() + ".png"));
+            totalBytes -= entry.getValue();
+            evicted.add(entry.getKey());
+            eldest.remove();
+        }
+        if (!evicted.isEmpty()) {
+            index.values().removeAll(evicted);
+        }
+    }
+
+    /**
+     * Registers the images already on disk, oldest access first.
+     */
+    private void loadObjects() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(objectsDir, "*.png")) {
+            for (Path file : stream) files.add(file);
+        }
+        files.sort((a, b) -> {
+            try {
+                return Files.getLastModifiedTime(a).compareTo(Files.getLastModifiedTime(b));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        for (Path file : files) {
+            long size = Files.size(file);
+            String fileName = file.getFileName().toString();
+            objects.put(fileName.substring(0, fileName.length() - ".png".length()), size);
+            totalBytes += size;
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        if (!Files.exists(indexFile)) return;
+        for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+            int tab = line.lastIndexOf('\t');
+            if (tab > 0 && objects.containsKey(line.substring(tab + 1))) {
+                index.put(line.substring(0, tab), line.substring(tab + 1));
+            }
+        }
+    }
+
+    /**
+     * Rewrites index.tsv atomically so readers never see a half written file.
+     */
+    private void writeIndex() throws IOException {
+        List<String> lines = new ArrayList<>(index.size());
+        for (Map.Entry<String, String> entry : index.entrySet()) {
+            lines.add(entry.getKey() + "\t" + entry.getValue());
+        }
+        Path temp = Files.createTempFile(indexFile.getParent(), "index", ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,59 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds application state directly into the browser so tests can skip UI setup steps.
+ * SauceDemo keeps the logged in user in the "session-username" cookie and the cart
+ * in the "cart-contents" localStorage entry; writing both has the same effect as
+ * logging in through the form and clicking "Add to cart" on each product.
+ * Only tests that verify the login form itself need to go through the UI.
+ */
+public class SessionFixture {
+    private static final String SESSION_COOKIE = "session-username";
+    private static final String CART_STORAGE_KEY = "cart-contents";
+
+    /**
+     * Logs the given user in, fills the cart and opens the inventory page.
+     *
+     * @param driver   The active WebDriver instance.
+     * @param username SauceDemo username, e.g. "standard_user".
+     * @param cart     Products that should already be in the cart.
+     */
+    public static void loginAs(WebDriver driver, String username, Product... cart) {
+        List<Integer> productIds = new ArrayList<>(cart.length);
+        for (Product product : cart) {
+            productIds.add(product.getId());
+        }
+        loginWithCart(driver, username, productIds);
+    }
+
+    /**
+     * Logs the given user in, fills the cart with arbitrary product ids and opens the inventory page.
+     * Useful with the stand-in's generated catalogs, whose products have no {@link Product} constant.
+     *
+     * @param driver     The active WebDriver instance.
+     * @param username   SauceDemo username, e.g. "standard_user".
+     * @param productIds Ids of the products that should already be in the cart.
+     */
+    public static void loginWithCart(WebDriver driver, String username, List<Integer> productIds) {
+        String baseUrl = ConfigReader.getBaseUrl();
+
+        // Cookies and localStorage can only be written from a page of the application's origin
+        if (!driver.getCurrentUrl().startsWith(baseUrl)) {
+            driver.get(baseUrl);
+        }
+        driver.manage().addCookie(new Cookie(SESSION_COOKIE, username, "/"));
+        if (!productIds.isEmpty()) {
+            // List.toString() of integers is the JSON array the application expects, e.g. "[4, 0]"
+            ((JavascriptExecutor) driver).executeScript(
+                    "window.localStorage.setItem(arguments[0], arguments[1]);", CART_STORAGE_KEY, productIds.toString());
+        }
+        driver.get(baseUrl + "inventory.html");
+    }
+}
@@ -0,0 +1,86 @@
+package utils;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out a fixed number of browser slots in arrival order. Threads that ask for a slot while all of them
+ * are taken wait in a queue instead of starting another browser, so the machine is never oversubscribed.
+ * A slot is held from {@link #acquire()} until {@link #release()} on the same thread.
+ * Queue wait times and slot utilization are kept for {@link #stats()}.
+ */
+public class SlotScheduler {
+    private final int slots;
+    private final Semaphore free;
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong firstAcquireNanos = new AtomicLong();
+    private final ThreadLocal<Long> heldSince = new ThreadLocal<>();
+
+    /**
+     * @param slots Number of slots that may be held at the same time.
+     */
+    public SlotScheduler(int slots) {
+        if (slots < 1) throw new IllegalArgumentException("At least one slot is needed, got " + slots);
+        this.slots = slots;
+        this.free = new Semaphore(slots, true);
+    }
+
+    /**
+     * Takes a slot for the calling thread, waiting in line while all slots are in use.
+     * Does nothing if the thread already holds one.
+     */
+    public void acquire() {
+        if (heldSince.get() != null) return;
+        long start = System.nanoTime();
+        if (!free.tryAcquire()) {
+            queued.incrementAndGet();
+            try {
+                free.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a browser slot", e);
+            }
+        }
+        long now = System.nanoTime();
+        queueWait.record(now - start);
+        firstAcquireNanos.compareAndSet(0, now);
+        heldSince.set(now);
+    }
+
+    /**
+     * Returns the calling thread's slot. Does nothing if it holds none.
+     */
+    public void release() {
+        Long since = heldSince.get();
+        if (since == null) return;
+        heldSince.remove();
+        busyNanos.addAndGet(System.nanoTime() - since);
+        free.release();
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    /**
+     * @return Share of slot time in use since the first slot was taken, between 0 and 1.
+     *         Slots still held are counted up to their last release.
+     */
+    public double getUtilization() {
+        long first = firstAcquireNanos.get();
+        if (first == 0) return 0;
+        long elapsed = System.nanoTime() - first;
+        return elapsed <= 0 ? 0 : Math.min(1.0, busyNanos.get() / ((double) elapsed * slots));
+    }
+
+    /**
+     * @return One line summary of slot usage and queue waits, e.g. for logging at the end of a run.
+     */
+    public String stats() {
+        return String.format("SlotScheduler[slots=%d, leases=%d, queued=%d, waitP50Ms=%.1f, waitP99Ms=%.1f, utilization=%.0f%%]",
+                slots, queueWait.getCount(), queued.get(), queueWait.quantileMillis(0.5), queueWait.quantileMillis(0.99),
+                getUtilization() * 100);
+    }
+}
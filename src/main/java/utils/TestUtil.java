@@ -1,47 +1,44 @@
 package utils;
 
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.*;
-import org.apache.commons.io.FileUtils;
 
-import java.io.File;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.time.Duration;
-import java.util.Date;
 
 /**
  * Utility class providing common helper methods for WebDriver-based tests.
- * Includes wait utilities, screenshot capturing (for reports and debugging), and timestamping.
+ * Includes wait utilities and screenshot capturing (for reports and debugging).
  */
 public class TestUtil {
 
     /**
      * Waits until the specified WebElement becomes visible within the given timeout.
      * Useful to ensure elements are interactable before performing actions.
+     * Delegates to {@link WaitEngine}, which returns as soon as the element is visible and
+     * records the blocked time against the calling page object.
      *
      * @param driver  The active WebDriver instance.
      * @param element The WebElement to wait for.
      * @param timeout Timeout in seconds to wait.
      */
     public static void waitForElementVisible(WebDriver driver, WebElement element, int timeout) {
-        new WebDriverWait(driver, Duration.ofSeconds(timeout))
-                .until(ExpectedConditions.visibilityOf(element));
+        String caller = new Throwable().getStackTrace()[1].getClassName();
+        WaitEngine.waitForVisible(driver, element, Duration.ofSeconds(timeout), caller.substring(caller.lastIndexOf('.') + 1));
     }
 
     /**
      * Captures a screenshot of the current browser window and saves it to the /screenshots directory.
-     * The screenshot is named with a provided base name and current timestamp.
+     * Images are stored once per distinct content (see {@link ScreenshotStore}); the name is
+     * recorded in screenshots/index.tsv and points at the stored image.
      *
      * @param driver The active WebDriver instance.
-     * @param name   The base name for the screenshot file (e.g., "login_page").
+     * @param name   The name for the screenshot (e.g., "LoginTest/login_page").
      */
     public static void takeScreenshot(WebDriver driver, String name) {
-        TakesScreenshot ts = (TakesScreenshot) driver;
-        File src = ts.getScreenshotAs(OutputType.FILE);
-        String path = "screenshots/" + name + "_" + timestamp() + ".png";
+        byte[] png = getScreenshotBytes(driver);
+        if (png.length == 0) return;
         try {
-            FileUtils.copyFile(src, new File(path));
+            ScreenshotStore.getInstance().store(name, png);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -62,14 +59,4 @@ public class TestUtil {
             return new byte[0]; // return empty array on failure
         }
     }
-
-    /**
-     * Generates a timestamp string in format yyyyMMdd_HHmmss.
-     * Used to uniquely name screenshots or logs.
-     *
-     * @return Formatted timestamp string.
-     */
-    private static String timestamp() {
-        return new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-    }
 }
@@ -0,0 +1,168 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Waits for element conditions without fixed-interval polling.
+ * The condition is resolved inside the browser by an async script that re-checks on every DOM
+ * mutation (and on a short timer for CSS transitions), so the wait returns as soon as the element
+ * becomes visible. If the element cannot be handed to the browser yet (not in the DOM, stale), or the
+ * app replaces the node while the script waits on it, the engine falls back to polling with an adaptive
+ * backoff, which looks the element up again through its proxy on every attempt.
+ * The time each wait actually blocked is recorded per page object and logged at JVM exit.
+ */
+public class WaitEngine {
+    private static final Logger logger = Logger.getLogger(WaitEngine.class.getName());
+
+    // Async scripts are bounded by the driver's script timeout (30 s by default)
+    private static final long MAX_ASYNC_WAIT_MILLIS = 25_000;
+    private static final long MIN_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 250;
+
+    // Result of VISIBLE_SCRIPT when the node it waits on was removed from the document
+    private static final String DETACHED = "detached";
+
+    private static final String VISIBLE_SCRIPT =
+            "var el = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];"
+            + "var check = function () {"
+            + "  if (!el.isConnected) return '" + DETACHED + "';"
+            + "  var style = window.getComputedStyle(el);"
+            + "  if (style.visibility === 'hidden' || style.display === 'none' || style.opacity === '0') return false;"
+            + "  var rect = el.getBoundingClientRect();"
+            + "  return rect.width > 0 && rect.height > 0;"
+            + "};"
+            + "var first = check();"
+            + "if (first !== false) { done(first); return; }"
+            + "var finished = false, observer, ticker, timer;"
+            + "var finish = function (result) {"
+            + "  if (finished) return; finished = true;"
+            + "  observer.disconnect(); clearInterval(ticker); clearTimeout(timer); done(result);"
+            + "};"
+            + "var recheck = function () { var result = check(); if (result !== false) finish(result); };"
+            + "observer = new MutationObserver(recheck);"
+            + "observer.observe(document.documentElement, { subtree: true, childList: true, attributes: true });"
+            + "ticker = setInterval(recheck, 50);"
+            + "timer = setTimeout(function () { finish(check()); }, timeoutMs);";
+
+    private static final Map<String, WaitStats> statsByOwner = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> logger.info(report()), "wait-engine-stats"));
+    }
+
+    /**
+     * Blocks until the element is visible.
+     *
+     * @param driver  The active WebDriver instance.
+     * @param element The WebElement to wait for (PageBinder and PageFactory proxies are fine).
+     * @param timeout Maximum time to wait.
+     * @param owner   Name under which the blocked time is recorded, usually the page object class.
+     * @throws TimeoutException if the element is not visible within the timeout.
+     */
+    public static void waitForVisible(WebDriver driver, WebElement element, Duration timeout, String owner) {
+        long start = System.nanoTime();
+        boolean satisfied = false;
+        try {
+            satisfied = awaitVisible(driver, element, timeout, start);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            statsByOwner.computeIfAbsent(owner, key -> new WaitStats()).record(elapsed, satisfied);
+            RunJournal.record(RunJournal.EventType.WAIT, owner, satisfied ? "visible" : "timeout", elapsed, null);
+        }
+        if (!satisfied) {
+            throw new TimeoutException("Element was not visible after " + timeout.toMillis() + " ms: " + element);
+        }
+    }
+
+    /**
+     * @return Blocked time per owner, most expensive first, one line per owner.
+     */
+    public static String report() {
+        List<Map.Entry<String, WaitStats>> entries = new ArrayList<>(statsByOwner.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().totalNanos.sum(), a.getValue().totalNanos.sum()));
+        StringBuilder report = new StringBuilder("Wait time by page object:");
+        for (Map.Entry<String, WaitStats> entry : entries) {
+            report.append(System.lineSeparator()).append("  ").append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        return report.toString();
+    }
+
+    private static boolean awaitVisible(WebDriver driver, WebElement element, Duration timeout, long start) {
+        if (timeout.toMillis() <= MAX_ASYNC_WAIT_MILLIS) {
+            try {
+                Object result = ((JavascriptExecutor) driver)
+                        .executeAsyncScript(VISIBLE_SCRIPT, element, timeout.toMillis());
+                // A replaced node never becomes visible: poll for its successor for the rest of the timeout
+                if (!DETACHED.equals(result)) return Boolean.TRUE.equals(result);
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                // Element not attached yet: poll for it for the rest of the timeout
+            } catch (WebDriverException e) {
+                logger.fine("Async wait unavailable, polling instead: " + e.getMessage());
+            }
+        }
+        return pollVisible(element, start + timeout.toNanos());
+    }
+
+    /**
+     * Polls isDisplayed() starting with short sleeps that double up to MAX_BACKOFF_MILLIS.
+     */
+    private static boolean pollVisible(WebElement element, long deadline) {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                if (element.isDisplayed()) return true;
+            } catch (NoSuchElementException | StaleElementReferenceException ignored) {
+                // Not there yet
+            }
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) return false;
+            try {
+                Thread.sleep(Math.min(backoff, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * Blocked time statistics for one owner.
+     */
+    private static class WaitStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos, boolean satisfied) {
+            count.increment();
+            if (!satisfied) timeouts.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            long waits = count.sum();
+            return String.format("waits=%d, timeouts=%d, totalMs=%.1f, avgMs=%.1f, maxMs=%.1f",
+                    waits, timeouts.sum(), totalNanos.sum() / 1e6,
+                    waits == 0 ? 0 : totalNanos.sum() / 1e6 / waits, maxNanos.get() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Reads the browser's own performance data for the page a page object is on: Navigation Timing,
+ * Largest Contentful Paint, Cumulative Layout Shift, long tasks and JS heap usage.
+ * Page objects call {@link #record} when they are constructed and before actions that leave the page.
+ * Each sample is attached to the current Allure step, and all samples are aggregated per page and
+ * written to webVitals.json in metrics.export.dir at JVM exit. Disabled unless perf.metrics.enabled is set.
+ *
+ * With client-side routing several page objects share one document, so per-document values are not
+ * repeated: Navigation Timing and LCP are reported by the first sample after the document finished
+ * loading (identified by performance.timeOrigin), and CLS and long tasks are the amounts since the
+ * previous sample on the same document.
+ */
+public class WebVitals {
+    private static final Logger logger = Logger.getLogger(WebVitals.class.getName());
+
+    // Installs buffered observers once per document, then drains them and returns one snapshot.
+    // takeRecords() delivers entries that are still queued, so the first call already sees buffered LCP and CLS.
+    // Long tasks are not buffered by Chrome and are counted from the first call on the document.
+    // CLS and long-task counters are reset after each read; navigation metrics are returned once per document.
+    private static final String SNAPSHOT_SCRIPT =
+            "var v = window.__vitals;"
+            + "if (!v) {"
+            + "  v = window.__vitals = { lcp: 0, cls: 0, longTasks: 0, longTaskMs: 0, observers: [] };"
+            + "  var handlers = {"
+            + "    'largest-contentful-paint': function (e) { v.lcp = Math.max(v.lcp, e.renderTime || e.loadTime || e.startTime); },"
+            + "    'layout-shift': function (e) { if (!e.hadRecentInput) v.cls += e.value; },"
+            + "    'longtask': function (e) { v.longTasks++; v.longTaskMs += e.duration; }"
+            + "  };"
+            + "  Object.keys(handlers).forEach(function (type) {"
+            + "    try {"
+            + "      var handle = function (list) { list.getEntries().forEach(handlers[type]); };"
+            + "      var observer = new PerformanceObserver(handle);"
+            + "      observer.observe({ type: type, buffered: true });"
+            + "      v.observers.push({ observer: observer, handle: handle });"
+            + "    } catch (e) { /* Entry type not supported by this browser */ }"
+            + "  });"
+            + "}"
+            + "v.observers.forEach(function (o) { o.handle({ getEntries: function () { return o.observer.takeRecords(); } }); });"
+            + "var nav = performance.getEntriesByType('navigation')[0] || {};"
+            + "var memory = performance.memory || {};"
+            + "var sample = {"
+            + "  url: location.pathname,"
+            + "  documentOrigin: performance.timeOrigin,"
+            + "  cls: v.cls,"
+            + "  longTasks: v.longTasks,"
+            + "  longTaskMs: v.longTaskMs,"
+            + "  heapUsedBytes: memory.usedJSHeapSize || 0,"
+            + "  heapTotalBytes: memory.totalJSHeapSize || 0"
+            + "};"
+            + "v.cls = 0; v.longTasks = 0; v.longTaskMs = 0;"
+            + "if (!v.navigationReported && nav.loadEventEnd > 0) {"
+            + "  v.navigationReported = true;"
+            + "  sample.ttfbMs = nav.responseStart || 0;"
+            + "  sample.domContentLoadedMs = nav.domContentLoadedEventEnd || 0;"
+            + "  sample.loadMs = nav.loadEventEnd;"
+            + "  sample.transferBytes = nav.transferSize || 0;"
+            + "  sample.lcpMs = v.lcp;"
+            + "}"
+            + "return sample;";
+
+    // Metrics aggregated per page, in report order. Samples without a metric (navigation metrics after the
+    // first sample of a document) do not count towards it.
+    private static final String[] METRICS = {
+            "ttfbMs", "domContentLoadedMs", "loadMs", "transferBytes", "lcpMs", "cls",
+            "longTasks", "longTaskMs", "heapUsedBytes", "heapTotalBytes"};
+
+    private static final Map<String, Map<String, Summary>> pages = new TreeMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WebVitals::export, "web-vitals-export"));
+    }
+
+    /** Count, mean and maximum of one metric on one page. */
+    private static final class Summary {
+        long count;
+        double sum;
+        double max;
+
+        void add(double value) {
+            count++;
+            sum += value;
+            max = Math.max(max, value);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("mean", count == 0 ? 0 : sum / count);
+            map.put("max", max);
+            return map;
+        }
+    }
+
+    /**
+     * Takes one sample of the current page's performance data, if perf.metrics.enabled is set.
+     * Failures are logged and never fail the calling test.
+     *
+     * @param driver The active WebDriver instance.
+     * @param page   Page object the sample is attributed to, e.g. "InventoryPage".
+     * @param action What the page object was doing, e.g. "open" or "goToCart".
+     */
+    public static void record(WebDriver driver, String page, String action) {
+        if (!ConfigReader.getBoolean("perf.metrics.enabled", false)) return;
+        Map<?, ?> sample;
+        try {
+            sample = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT);
+        } catch (RuntimeException e) {
+            logger.warning("Could not read web vitals on " + page + ": " + e.getMessage());
+            return;
+        }
+        synchronized (pages) {
+            Map<String, Summary> metrics = pages.computeIfAbsent(page, key -> new LinkedHashMap<>());
+            for (String metric : METRICS) {
+                Object value = sample.get(metric);
+                if (value instanceof Number) {
+                    metrics.computeIfAbsent(metric, key -> new Summary()).add(((Number) value).doubleValue());
+                }
+            }
+        }
+        Allure.addAttachment("Web vitals: " + page + " " + action, "application/json", new Json().toJson(sample), ".json");
+    }
+
+    /**
+     * Writes the per page aggregates to webVitals.json in metrics.export.dir.
+     */
+    public static void export() {
+        Map<String, Object> report = new TreeMap<>();
+        synchronized (pages) {
+            if (pages.isEmpty()) return;
+            pages.forEach((page, metrics) -> {
+                Map<String, Object> summaries = new LinkedHashMap<>();
+                metrics.forEach((metric, summary) -> summaries.put(metric, summary.toMap()));
+                report.put(page, summaries);
+            });
+        }
+        Path dir = Paths.get(ConfigReader.get("metrics.export.dir", "target/metrics"));
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("webVitals.json"), new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            logger.info("Web vitals summary for " + report.size() + " pages written to " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warning("Could not export web vitals: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Client side of the SauceDemo stand-in.
+ * Mirrors the state handling of the real site: the logged in user lives in the "session-username"
+ * cookie and the cart in the "cart-contents" localStorage entry (a JSON array of product ids).
+ * The catalog and stand-in settings come from catalog.js (window.CATALOG, window.STANDIN).
+ */
+(function () {
+    'use strict';
+
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user', 'performance_glitch_user', 'error_user', 'visual_user'];
+    var PASSWORD = 'secret_sauce';
+    var TAX_RATE = 0.08;
+
+    function currentUser() {
+        var match = document.cookie.match(/(?:^|;\s*)session-username=([^;]*)/);
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function readCart() {
+        try {
+            return JSON.parse(window.localStorage.getItem('cart-contents')) || [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function writeCart(ids) {
+        window.localStorage.setItem('cart-contents', JSON.stringify(ids));
+        renderBadge();
+    }
+
+    function product(id) {
+        return window.CATALOG[id];
+    }
+
+    function slug(name) {
+        return name.toLowerCase().replace(/\s+/g, '-');
+    }
+
+    function money(value) {
+        return '$' + value.toFixed(2);
+    }
+
+    function escapeHtml(text) {
+        return String(text).replace(/[&<>"']/g, function (c) {
+            return { '&': '&amp;', '<': '&lt;', '>': '&gt;', '"': '&quot;', "'": '&#39;' }[c];
+        });
+    }
+
+    function go(page) {
+        window.location.href = page;
+    }
+
+    function showError(message) {
+        document.querySelector('.error-message-container').innerHTML =
+            '<h3 data-test="error">Epic sadface: ' + escapeHtml(message) + '</h3>';
+    }
+
+    function renderBadge() {
+        var link = document.querySelector('.shopping_cart_link');
+        if (!link) return;
+        var count = readCart().length;
+        link.innerHTML = count > 0 ? '<span class="shopping_cart_badge">' + count + '</span>' : '';
+    }
+
+    function itemRow(item, buttonHtml) {
+        return '<div class="inventory_item_description">'
+            + '<div class="inventory_item_label">'
+            + '<a href="#" id="item_' + item.id + '_title_link"><div class="inventory_item_name">' + escapeHtml(item.name) + '</div></a>'
+            + '<div class="inventory_item_desc">' + escapeHtml(item.desc) + '</div>'
+            + '</div>'
+            + '<div class="pricebar"><div class="inventory_item_price">' + money(item.price) + '</div>' + buttonHtml + '</div>'
+            + '</div>';
+    }
+
+    function cartButton(item, inCart) {
+        var action = inCart ? 'remove' : 'add-to-cart';
+        return '<button class="btn btn_small btn_inventory" id="' + action + '-' + escapeHtml(slug(item.name))
+            + '" data-id="' + item.id + '">' + (inCart ? 'Remove' : 'Add to cart') + '</button>';
+    }
+
+    function renderCartItems(ids, withRemoveButtons) {
+        var html = [];
+        ids.forEach(function (id) {
+            var item = product(id);
+            if (!item) return;
+            html.push('<div class="cart_item"><div class="cart_quantity">1</div>'
+                + itemRow(item, withRemoveButtons ? cartButton(item, true) : '') + '</div>');
+        });
+        document.querySelector('.cart_list').innerHTML = html.join('');
+    }
+
+    var SORTS = {
+        az: function (a, b) { return a.name < b.name ? -1 : a.name > b.name ? 1 : 0; },
+        za: function (a, b) { return a.name < b.name ? 1 : a.name > b.name ? -1 : 0; },
+        lohi: function (a, b) { return a.price - b.price || a.id - b.id; },
+        hilo: function (a, b) { return b.price - a.price || a.id - b.id; }
+    };
+
+    var pages = {
+        'login': function () {
+            document.getElementById('login_form').addEventListener('submit', function (event) {
+                event.preventDefault();
+                var username = document.getElementById('user-name').value;
+                var password = document.getElementById('password').value;
+                if (!username) return showError('Username is required');
+                if (!password) return showError('Password is required');
+                if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+                    return showError('Username and password do not match any user in this service');
+                }
+                if (username === 'locked_out_user') return showError('Sorry, this user has been locked out.');
+                document.cookie = 'session-username=' + encodeURIComponent(username) + '; path=/';
+                var delay = username === 'performance_glitch_user' ? window.STANDIN.glitchDelayMs : 0;
+                setTimeout(function () { go('inventory.html'); }, delay);
+            });
+        },
+
+        'inventory': function () {
+            var list = document.querySelector('.inventory_list');
+            var select = document.querySelector('.product_sort_container');
+            var render = function () {
+                var cart = readCart();
+                var items = window.CATALOG.slice().sort(SORTS[select.value]);
+                list.innerHTML = items.map(function (item) {
+                    return '<div class="inventory_item">' + itemRow(item, cartButton(item, cart.indexOf(item.id) >= 0)) + '</div>';
+                }).join('');
+            };
+            select.addEventListener('change', render);
+            list.addEventListener('click', function (event) {
+                var button = event.target.closest('button[data-id]');
+                if (!button) return;
+                var id = Number(button.getAttribute('data-id'));
+                var cart = readCart();
+                var index = cart.indexOf(id);
+                if (index >= 0) cart.splice(index, 1); else cart.push(id);
+                writeCart(cart);
+                button.outerHTML = cartButton(product(id), index < 0);
+            });
+            render();
+        },
+
+        'cart': function () {
+            renderCartItems(readCart(), true);
+            document.querySelector('.cart_list').addEventListener('click', function (event) {
+                var button = event.target.closest('button[data-id]');
+                if (!button) return;
+                var cart = readCart();
+                cart.splice(cart.indexOf(Number(button.getAttribute('data-id'))), 1);
+                writeCart(cart);
+                button.closest('.cart_item').remove();
+            });
+            document.getElementById('continue-shopping').addEventListener('click', function () { go('inventory.html'); });
+            document.getElementById('checkout').addEventListener('click', function () { go('checkout-step-one.html'); });
+        },
+
+        'checkout-step-one': function () {
+            document.getElementById('checkout_info_form').addEventListener('submit', function (event) {
+                event.preventDefault();
+                if (!document.getElementById('first-name').value) return showError('First Name is required');
+                if (!document.getElementById('last-name').value) return showError('Last Name is required');
+                if (!document.getElementById('postal-code').value) return showError('Postal Code is required');
+                go('checkout-step-two.html');
+            });
+            document.getElementById('cancel').addEventListener('click', function () { go('cart.html'); });
+        },
+
+        'checkout-step-two': function () {
+            var cart = readCart();
+            renderCartItems(cart, false);
+            var subtotal = cart.reduce(function (sum, id) { return sum + (product(id) ? product(id).price : 0); }, 0);
+            var tax = Math.round(subtotal * TAX_RATE * 100) / 100;
+            document.querySelector('.summary_subtotal_label').textContent = 'Item total: ' + money(subtotal);
+            document.querySelector('.summary_tax_label').textContent = 'Tax: ' + money(tax);
+            document.querySelector('.summary_total_label').textContent = 'Total: ' + money(subtotal + tax);
+            document.getElementById('cancel').addEventListener('click', function () { go('inventory.html'); });
+            document.getElementById('finish').addEventListener('click', function () {
+                window.localStorage.removeItem('cart-contents');
+                go('checkout-complete.html');
+            });
+        },
+
+        'checkout-complete': function () {
+            document.getElementById('back-to-products').addEventListener('click', function () { go('inventory.html'); });
+        }
+    };
+
+    document.addEventListener('DOMContentLoaded', function () {
+        var page = document.body.getAttribute('data-page');
+        if (page !== 'login' && !currentUser()) {
+            go('./'); // Like the real site, every page but the login page needs a session
+            return;
+        }
+        renderBadge();
+        pages[page]();
+    });
+})();
@@ -0,0 +1,54 @@
+package listeners;
+
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import utils.CheckpointedFlow;
+import utils.ConfigReader;
+import utils.RunJournal;
+
+import java.util.Arrays;
+
+/**
+ * Retries a failed test up to retry.max.attempts times (0, the default, never retries).
+ * A test that runs its journey as a {@link CheckpointedFlow} with {@link #flowId()} resumes on retry
+ * from the last step that passed: @AfterMethod and @BeforeMethod run as usual, then the flow restores
+ * its checkpoint into the new session and runs only the remaining steps.
+ *
+ * <pre>
+ * &#64;Test(retryAnalyzer = CheckpointRetryAnalyzer.class)
+ * </pre>
+ */
+public class CheckpointRetryAnalyzer implements IRetryAnalyzer {
+    private static final RunJournal.Channel journal = RunJournal.channel(CheckpointRetryAnalyzer.class);
+
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        String id = flowId(result);
+        if (attempts >= ConfigReader.getInt("retry.max.attempts", 0)) {
+            CheckpointedFlow.discard(id);
+            return false;
+        }
+        attempts++;
+        boolean resumes = CheckpointedFlow.resumeNextRun(id);
+        int attempt = attempts;
+        journal.warn(() -> "Retrying " + id + " (attempt " + attempt + ")"
+                + (resumes ? " from its last checkpoint" : " from the start"));
+        return true;
+    }
+
+    /**
+     * @return Flow id of the test running on the calling thread, for {@link CheckpointedFlow}.
+     */
+    public static String flowId() {
+        return flowId(Reporter.getCurrentTestResult());
+    }
+
+    private static String flowId(ITestResult result) {
+        String id = result.getMethod().getQualifiedName();
+        Object[] parameters = result.getParameters();
+        return parameters.length == 0 ? id : id + Arrays.toString(parameters);
+    }
+}
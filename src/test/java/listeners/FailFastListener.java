@@ -0,0 +1,33 @@
+package listeners;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import utils.ConfigReader;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stops the run after failfast.max.failures failed tests (0, the default, never stops).
+ * Every test that has not started by then is skipped before its @BeforeMethod,
+ * so no browser is started for it. @AfterMethod cleanup of running tests is unaffected.
+ */
+public class FailFastListener implements IInvokedMethodListener, ITestListener {
+    private static final AtomicInteger failures = new AtomicInteger();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        int maxFailures = ConfigReader.getInt("failfast.max.failures", 0);
+        if (maxFailures <= 0 || failures.get() < maxFailures) return;
+        if (method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration()) {
+            throw new SkipException("Skipped after " + failures.get() + " failures (failfast.max.failures=" + maxFailures + ")");
+        }
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        failures.incrementAndGet();
+    }
+}
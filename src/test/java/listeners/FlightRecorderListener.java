@@ -0,0 +1,28 @@
+package listeners;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import utils.DriverFactory;
+import utils.FlightRecorder;
+
+/**
+ * Connects the {@link FlightRecorder} to the TestNG lifecycle: the history is cleared before each test method
+ * and attached to the report right after a failed one, before @AfterMethod releases the browser.
+ */
+public class FlightRecorderListener implements IInvokedMethodListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            FlightRecorder.testStarted();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && (testResult.getThrowable() != null || testResult.getStatus() == ITestResult.FAILURE)) {
+            FlightRecorder.dump(DriverFactory.getDriver());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package listeners;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import utils.AllureHistory;
+import utils.ConfigReader;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.logging.Logger;
+
+/**
+ * Reorders test methods so failures show up as early as possible, when order.by.history=true.
+ * Tests whose latest run failed go first, then flaky tests (passed and failed within their recent runs),
+ * then everything else. Within each group faster tests run first, using the recent average duration
+ * from {@link AllureHistory}. Tests without history count as the median known duration.
+ */
+public class HistoryOrderInterceptor implements IMethodInterceptor {
+    private static final Logger logger = Logger.getLogger(HistoryOrderInterceptor.class.getName());
+
+    // Recent runs looked at for flakiness and duration
+    private static final int RECENT_RUNS = 5;
+
+    private static final int RECENTLY_FAILED = 0;
+    private static final int FLAKY = 1;
+    private static final int STABLE = 2;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigReader.getBoolean("order.by.history", false)) return methods;
+        AllureHistory history = AllureHistory.load();
+        if (history.isEmpty()) return methods;
+
+        Map<IMethodInstance, Integer> groups = new HashMap<>();
+        Map<IMethodInstance, Double> durations = new HashMap<>();
+        List<Double> known = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            String name = method.getMethod().getQualifiedName();
+            groups.put(method, group(history.getRuns(name)));
+            OptionalDouble average = history.averageDurationMillis(name, RECENT_RUNS);
+            if (average.isPresent()) {
+                durations.put(method, average.getAsDouble());
+                known.add(average.getAsDouble());
+            }
+        }
+        known.sort(null);
+        double fallback = known.isEmpty() ? 0 : known.get(known.size() / 2);
+        methods.forEach(method -> durations.putIfAbsent(method, fallback));
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.<IMethodInstance>comparingInt(groups::get)
+                .thenComparingDouble(durations::get)); // Stable sort: ties keep their original order
+        logger.info("Test order by history: " + describe(ordered, groups));
+        return ordered;
+    }
+
+    private static int group(List<AllureHistory.Run> runs) {
+        if (runs.isEmpty()) return STABLE;
+        if (runs.get(0).isFailure()) return RECENTLY_FAILED;
+        boolean passed = false;
+        boolean failed = false;
+        for (AllureHistory.Run run : runs.subList(0, Math.min(RECENT_RUNS, runs.size()))) {
+            passed |= "passed".equals(run.getStatus());
+            failed |= run.isFailure();
+        }
+        return passed && failed ? FLAKY : STABLE;
+    }
+
+    private static String describe(List<IMethodInstance> ordered, Map<IMethodInstance, Integer> groups) {
+        String[] labels = {"failed", "flaky", "stable"};
+        StringBuilder text = new StringBuilder();
+        for (IMethodInstance method : ordered) {
+            if (text.length() > 0) text.append(", ");
+            text.append(method.getMethod().getMethodName()).append(" (").append(labels[groups.get(method)]).append(')');
+        }
+        return text.toString();
+    }
+}
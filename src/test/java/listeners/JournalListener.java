@@ -0,0 +1,44 @@
+package listeners;
+
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import utils.RunJournal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every test its own correlation id in the {@link RunJournal} and records how it ended.
+ * A failed assertion is recorded as an ASSERTION event before the TEST_END event.
+ */
+public class JournalListener implements ITestListener {
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        RunJournal.beginCorrelation(result.getMethod().getQualifiedName());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        end(result, "passed");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        Throwable failure = result.getThrowable();
+        if (failure instanceof AssertionError) {
+            String message = String.valueOf(failure.getMessage());
+            RunJournal.record(RunJournal.EventType.ASSERTION, "test", result.getMethod().getMethodName(), 0, () -> message);
+        }
+        end(result, failure instanceof AssertionError ? "failed" : "broken");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        end(result, "skipped");
+    }
+
+    private static void end(ITestResult result, String status) {
+        long durationNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, result.getEndMillis() - result.getStartMillis()));
+        RunJournal.endCorrelation(result.getMethod().getQualifiedName(), status, durationNanos);
+    }
+}
@@ -0,0 +1,23 @@
+package listeners;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import utils.CommandMetrics;
+
+/**
+ * Attributes WebDriver commands to the test (or configuration method) running on the current thread,
+ * so {@link CommandMetrics} can break latencies down per test.
+ */
+public class MetricsListener implements IInvokedMethodListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        CommandMetrics.setCurrentTest(testResult.getMethod().getQualifiedName());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        CommandMetrics.setCurrentTest(null);
+    }
+}
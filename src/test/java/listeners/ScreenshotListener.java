@@ -0,0 +1,37 @@
+package listeners;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import utils.DriverFactory;
+import utils.ScreenshotPipeline;
+
+/**
+ * Connects the {@link ScreenshotPipeline} to the TestNG lifecycle.
+ * Runs right after each test method, before the browser is released in @AfterMethod,
+ * so end-of-test and failure screenshots still see the final page.
+ */
+public class ScreenshotListener implements IInvokedMethodListener, ISuiteListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            ScreenshotPipeline.testStarted();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            boolean failed = testResult.getThrowable() != null || testResult.getStatus() == ITestResult.FAILURE;
+            ScreenshotPipeline.testFinished(DriverFactory.getDriver(), failed);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ScreenshotPipeline.flush();
+    }
+}
@@ -0,0 +1,132 @@
+package listeners;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import utils.AllureHistory;
+import utils.ConfigReader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.logging.Logger;
+
+/**
+ * Runs only this JVM's share of the test methods when shard.count is greater than 1.
+ * Methods are split into shard.count shards of about the same total runtime, using the average of
+ * each test's recent durations from {@link AllureHistory}: longest tests first, each into the
+ * shard with the least work so far. Tests without history count as the median known duration.
+ * Every shard computes the same plan from the same history, so shards need no coordination
+ * and can run in separate JVMs or on separate machines (see scripts/run-shards.sh).
+ *
+ * TestNG calls a method interceptor once for every registration, and this one is listed both in the
+ * suite XML and on the test classes, so the plan is applied once per test context and later calls
+ * pass the methods through. When shard.plan.file is set, the plan is appended to it so
+ * scripts/run-shards.sh can check that the shards together cover every method.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+    private static final Logger logger = Logger.getLogger(ShardInterceptor.class.getName());
+
+    // Recent runs averaged per test; older runs describe an older version of the test
+    private static final int RECENT_RUNS = 5;
+
+    private static final String APPLIED = ShardInterceptor.class.getName() + ".applied";
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int count = ConfigReader.getInt("shard.count", 1);
+        int index = ConfigReader.getInt("shard.index", 0);
+        if (count <= 1) return methods;
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("shard.index must be between 0 and " + (count - 1) + ", got " + index);
+        }
+        // Sharding the already selected methods again would drop part of this shard
+        if (context.getAttribute(APPLIED) != null) return methods;
+        context.setAttribute(APPLIED, Boolean.TRUE);
+
+        Map<IMethodInstance, Double> estimates = estimateDurations(methods, AllureHistory.load());
+        List<IMethodInstance> byDuration = new ArrayList<>(methods);
+        byDuration.sort(Comparator.<IMethodInstance>comparingDouble(estimates::get).reversed()
+                .thenComparing(ShardInterceptor::nameOf)); // Same order, and so the same plan, in every shard
+
+        double[] load = new double[count];
+        Map<IMethodInstance, Integer> assignment = new HashMap<>();
+        for (IMethodInstance method : byDuration) {
+            int lightest = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (load[shard] < load[lightest]) lightest = shard;
+            }
+            load[lightest] += estimates.get(method);
+            assignment.put(method, lightest);
+        }
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (assignment.get(method) == index) selected.add(method);
+        }
+        logger.info(String.format("Shard %d/%d runs %d of %d test methods, estimated %.1fs (largest shard %.1fs)",
+                index + 1, count, selected.size(), methods.size(), load[index] / 1000, max(load) / 1000));
+        writePlan(context, methods, selected);
+        return selected;
+    }
+
+    /**
+     * Appends one line per method to shard.plan.file: "+" for the methods this shard runs, "-" for the others.
+     */
+    private static void writePlan(ITestContext context, List<IMethodInstance> methods, List<IMethodInstance> selected) {
+        String file = ConfigReader.get("shard.plan.file", "");
+        if (file.isEmpty()) return;
+        StringBuilder plan = new StringBuilder();
+        for (IMethodInstance method : methods) {
+            plan.append(selected.contains(method) ? '+' : '-').append(' ')
+                    .append(context.getName()).append(' ').append(nameOf(method)).append('\n');
+        }
+        try {
+            Path path = Paths.get(file);
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            Files.write(path, plan.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warning("Could not write the shard plan to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<IMethodInstance, Double> estimateDurations(List<IMethodInstance> methods, AllureHistory history) {
+        Map<IMethodInstance, Double> estimates = new HashMap<>();
+        List<Double> known = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            OptionalDouble average = history.averageDurationMillis(nameOf(method), RECENT_RUNS);
+            if (average.isPresent()) {
+                estimates.put(method, average.getAsDouble());
+                known.add(average.getAsDouble());
+            }
+        }
+        known.sort(null);
+        double fallback = known.isEmpty() ? 1 : known.get(known.size() / 2);
+        for (IMethodInstance method : methods) {
+            estimates.putIfAbsent(method, fallback);
+        }
+        return estimates;
+    }
+
+    private static String nameOf(IMethodInstance method) {
+        return method.getMethod().getQualifiedName();
+    }
+
+    private static double max(double[] values) {
+        double max = 0;
+        for (double value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
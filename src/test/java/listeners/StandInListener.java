@@ -0,0 +1,37 @@
+package listeners;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import utils.ConfigReader;
+import utils.SauceDemoStandIn;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Starts the embedded SauceDemo stand-in for the suite when standin.enabled=true
+ * and points base.url at it, so the run needs no internet access.
+ */
+public class StandInListener implements ISuiteListener {
+    private SauceDemoStandIn standIn;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!ConfigReader.getBoolean("standin.enabled", false) || standIn != null) return;
+        try {
+            standIn = SauceDemoStandIn.start(ConfigReader.getInt("standin.port", 0),
+                    ConfigReader.getInt("standin.catalog.size", 6));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the SauceDemo stand-in", e);
+        }
+        System.setProperty("base.url", standIn.getBaseUrl());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (standIn != null) {
+            standIn.stop();
+            standIn = null;
+        }
+    }
+}
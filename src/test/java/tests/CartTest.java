@@ -0,0 +1,98 @@
+package tests;
+
+import org.testng.annotations.*;
+import pages.CartPage;
+import pages.InventoryPage;
+import utils.DriverFactory;
+import utils.RunJournal;
+import utils.SessionFixture;
+import utils.ScreenshotPipeline;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+
+import io.qameta.allure.*;
+import io.qameta.allure.testng.AllureTestNg;
+import listeners.FailFastListener;
+import listeners.FlightRecorderListener;
+import listeners.HistoryOrderInterceptor;
+import listeners.JournalListener;
+import listeners.MetricsListener;
+import listeners.ScreenshotListener;
+import listeners.ShardInterceptor;
+import listeners.StandInListener;
+import org.testng.annotations.Listeners;
+
+@Listeners({StandInListener.class, AllureTestNg.class, ScreenshotListener.class, MetricsListener.class,
+        ShardInterceptor.class, HistoryOrderInterceptor.class, FailFastListener.class,
+        JournalListener.class, FlightRecorderListener.class})
+public class CartTest {
+    private static final RunJournal.Channel journal = RunJournal.channel(CartTest.class);
+
+    /**
+     * Initializes the WebDriver and opens the inventory page with a seeded standard_user session and an empty cart.
+     */
+    @BeforeMethod
+    @Step("Initialize WebDriver with a logged in SauceDemo session")
+    public void setup() {
+        journal.info(() -> "Initializing WebDriver.");
+        WebDriver driver = DriverFactory.initDriver();
+
+        // Only the login is seeded; the cart is filled through the UI by the test
+        journal.info(() -> "Seeding session for standard_user.");
+        SessionFixture.loginAs(driver, "standard_user");
+    }
+
+    /**
+     * Adds two products with the "Add to cart" buttons and verifies the cart badge and the cart contents.
+     */
+    @Test(description = "Verify products added from the inventory appear in the cart")
+    @Epic("Cart")
+    @Feature("Add to Cart")
+    @Story("Add products from the inventory page and open the cart")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testAddToCart() {
+        WebDriver driver = DriverFactory.getDriver();
+        InventoryPage inventory = new InventoryPage(driver);
+        Assert.assertEquals(inventory.getCartBadgeCount(), 0, "Cart is not empty before adding products.");
+
+        // Click "Add to cart" on the Backpack and the Bike Light
+        addProductsToCart(inventory);
+        int badgeCount = inventory.getCartBadgeCount();
+        journal.info(() -> "Cart badge after adding products: " + badgeCount);
+        Assert.assertEquals(badgeCount, 2, "Cart badge does not show the two added products.");
+        attachScreenshot("01_products_added");
+
+        // Open the cart and verify its contents
+        inventory.goToCart();
+        CartPage cart = new CartPage(driver);
+        Assert.assertTrue(cart.verifyItemsInCart("Sauce Labs Backpack", "Sauce Labs Bike Light"),
+                "Cart does not contain the added products.");
+        attachScreenshot("02_cart_verified");
+    }
+
+    /**
+     * Adds the Backpack and the Bike Light through their "Add to cart" buttons.
+     */
+    @Step("Add Backpack and Bike Light to the cart")
+    private void addProductsToCart(InventoryPage inventory) {
+        inventory.addToCartBackpackAndBikeLight();
+    }
+
+    /**
+     * Attaches a screenshot to the Allure report.
+     */
+    private void attachScreenshot(String name) {
+        ScreenshotPipeline.capture(DriverFactory.getDriver(), name);
+    }
+
+    /**
+     * Cleans up the WebDriver session after each test.
+     */
+    @AfterMethod
+    @Step("Quit WebDriver")
+    public void teardown() {
+        journal.info(() -> "Quitting WebDriver.");
+        DriverFactory.quitDriver();
+    }
+}
@@ -1,90 +1,104 @@
 package tests;
 
 import io.qameta.allure.testng.AllureTestNg;
+import listeners.CheckpointRetryAnalyzer;
+import listeners.FailFastListener;
+import listeners.FlightRecorderListener;
+import listeners.HistoryOrderInterceptor;
+import listeners.JournalListener;
+import listeners.MetricsListener;
+import listeners.ScreenshotListener;
+import listeners.ShardInterceptor;
+import listeners.StandInListener;
 import org.openqa.selenium.WebDriver;
 import org.testng.annotations.*;
 import org.testng.Assert;
 import pages.*;
+import utils.CheckpointedFlow;
 import utils.DriverFactory;
-import utils.TestUtil;
-
-import java.util.logging.Logger;
+import utils.Product;
+import utils.RunJournal;
+import utils.SessionFixture;
+import utils.ScreenshotPipeline;
 
 import io.qameta.allure.*;
 
-@Listeners({AllureTestNg.class})
+@Listeners({StandInListener.class, AllureTestNg.class, ScreenshotListener.class, MetricsListener.class,
+        ShardInterceptor.class, HistoryOrderInterceptor.class, FailFastListener.class,
+        JournalListener.class, FlightRecorderListener.class})
 public class CheckoutTest {
-
-    WebDriver driver;
-    private static final Logger logger = Logger.getLogger(CheckoutTest.class.getName());
+    private static final RunJournal.Channel journal = RunJournal.channel(CheckoutTest.class);
 
     /**
-     * Initializes the browser and logs into the application before each test.
+     * Initializes the browser and seeds a logged in session with two products in the cart before each test.
+     * The login form is covered by LoginTest and the "Add to cart" buttons by CartTest, so they are skipped here.
      */
     @BeforeMethod
-    @Step("Initialize browser and log in to the application")
+    @Step("Initialize browser with a logged in session and a filled cart")
     public void setup() {
-        logger.info("Initializing WebDriver and opening the website");
-        driver = DriverFactory.initDriver();
-        driver.get("https://www.saucedemo.com/");
+        journal.info(() -> "Initializing WebDriver");
+        WebDriver driver = DriverFactory.initDriver();
 
-        // Perform login with valid credentials
-        logger.info("Logging in as standard_user");
-        new LoginPage(driver).login("standard_user", "secret_sauce");
-        attachScreenshot("01_logged_in");
+        // Seed login and cart state instead of driving the UI
+        journal.info(() -> "Seeding session for standard_user with Backpack and Bike Light in the cart");
+        SessionFixture.loginAs(driver, "standard_user", Product.BACKPACK, Product.BIKE_LIGHT);
     }
 
     /**
      * Executes the full end-to-end checkout flow and verifies each stage.
+     * The stages run as a checkpointed flow, so a retry resumes after the last stage that passed.
      */
-    @Test(description = "Verify the complete checkout process")
+    @Test(description = "Verify the complete checkout process", retryAnalyzer = CheckpointRetryAnalyzer.class)
     @Epic("Checkout Flow")
     @Feature("End-to-End Purchase")
     @Story("Complete order from login to confirmation")
     @Severity(SeverityLevel.CRITICAL)
     public void testFullCheckoutFlow() {
-        logger.info("Starting full checkout flow test");
-
-        // Add products to cart
-        InventoryPage inventory = new InventoryPage(driver);
-        inventory.addToCartBackpackAndBikeLight();
-        attachScreenshot("02_products_added");
-
-        // Go to cart and verify added items
-        inventory.goToCart();
-        CartPage cart = new CartPage(driver);
-        Assert.assertTrue(cart.verifyItemsInCart("Sauce Labs Backpack", "Sauce Labs Bike Light"),
-                "Cart does not contain expected items.");
-        attachScreenshot("03_cart_verified");
-
-        // Proceed to checkout step 1
-        cart.proceedToCheckout();
-        attachScreenshot("04_checkout_started");
-
-        // Fill in user info and continue
-        CheckoutPage checkout = new CheckoutPage(driver);
-        checkout.fillCheckoutForm("John", "Doe", "12345");
-        attachScreenshot("05_checkout_info_entered");
-
-        // On overview page: verify items and subtotal
-        CheckoutOverviewPage overview = new CheckoutOverviewPage(driver);
-        Assert.assertTrue(overview.verifyItemPresent("Sauce Labs Backpack"), "Backpack not shown in overview.");
-        Assert.assertTrue(overview.verifyItemPresent("Sauce Labs Bike Light"), "Bike Light not shown in overview.");
-
-        // Validate the calculated total matches displayed total
-        double expectedTotal = overview.getItemPrices().stream().mapToDouble(Double::doubleValue).sum();
-        double displayedTotal = overview.getItemTotal();
-        Assert.assertEquals(displayedTotal, expectedTotal, 0.01, "Displayed total doesn't match calculated total.");
-        attachScreenshot("06_price_verified");
-
-        // Finish checkout process
-        overview.completeCheckout();
-        attachScreenshot("07_order_completed");
-
-        // Verify confirmation message
-        String confirmation = overview.getConfirmationMessage();
-        Assert.assertTrue(confirmation.toLowerCase().contains("thank you"), "Confirmation message not shown.");
-        attachScreenshot("08_confirmation_displayed");
+        journal.info(() -> "Starting full checkout flow test");
+        WebDriver driver = DriverFactory.getDriver();
+
+        new CheckpointedFlow(driver, CheckpointRetryAnalyzer.flowId())
+                // Go to cart and verify the seeded items
+                .step("Verify the cart", () -> {
+                    new InventoryPage(driver).goToCart();
+                    Assert.assertTrue(new CartPage(driver).verifyItemsInCart("Sauce Labs Backpack", "Sauce Labs Bike Light"),
+                            "Cart does not contain expected items.");
+                    attachScreenshot("01_cart_verified");
+                })
+                // Proceed to checkout step 1
+                .step("Start checkout", () -> {
+                    new CartPage(driver).proceedToCheckout();
+                    attachScreenshot("02_checkout_started");
+                })
+                // Fill in user info and continue
+                .step("Enter customer information", () -> {
+                    new CheckoutPage(driver).fillCheckoutForm("John", "Doe", "12345");
+                    attachScreenshot("03_checkout_info_entered");
+                })
+                // On overview page: verify items and subtotal
+                .step("Verify the overview", () -> {
+                    CheckoutOverviewPage overview = new CheckoutOverviewPage(driver);
+                    Assert.assertTrue(overview.verifyItemPresent("Sauce Labs Backpack"), "Backpack not shown in overview.");
+                    Assert.assertTrue(overview.verifyItemPresent("Sauce Labs Bike Light"), "Bike Light not shown in overview.");
+
+                    // Validate the calculated total matches displayed total
+                    double expectedTotal = overview.getItemPrices().stream().mapToDouble(Double::doubleValue).sum();
+                    double displayedTotal = overview.getItemTotal();
+                    Assert.assertEquals(displayedTotal, expectedTotal, 0.01, "Displayed total doesn't match calculated total.");
+                    attachScreenshot("04_price_verified");
+                })
+                // Finish checkout process
+                .step("Finish the order", () -> {
+                    new CheckoutOverviewPage(driver).completeCheckout();
+                    attachScreenshot("05_order_completed");
+                })
+                // Verify confirmation message
+                .step("Verify the confirmation", () -> {
+                    String confirmation = new CheckoutOverviewPage(driver).getConfirmationMessage();
+                    Assert.assertTrue(confirmation.toLowerCase().contains("thank you"), "Confirmation message not shown.");
+                    attachScreenshot("06_confirmation_displayed");
+                })
+                .run();
     }
 
     /**
@@ -93,17 +107,15 @@ public class CheckoutTest {
     @AfterMethod
     @Step("Close the browser")
     public void teardown() {
-        logger.info("Quitting the WebDriver");
+        journal.info(() -> "Quitting the WebDriver");
         DriverFactory.quitDriver();
     }
 
     /**
      * Captures screenshot and attaches it to Allure report.
      * @param name Descriptive name for the screenshot
-     * @return Screenshot bytes
      */
-    @Attachment(value = "{0}", type = "image/png")
-    public byte[] attachScreenshot(String name) {
-        return TestUtil.getScreenshotBytes(driver);
+    public void attachScreenshot(String name) {
+        ScreenshotPipeline.capture(DriverFactory.getDriver(), name);
     }
 }
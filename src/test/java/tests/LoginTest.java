@@ -4,21 +4,30 @@ import org.testng.annotations.*;
 import org.testng.Assert;
 import pages.LoginPage;
 import pages.InventoryPage;
+import utils.ConfigReader;
 import utils.DriverFactory;
-import utils.TestUtil;
+import utils.LatencyBudget;
+import utils.RunJournal;
+import utils.ScreenshotPipeline;
 import org.openqa.selenium.WebDriver;
 
-import java.util.logging.Logger;
-
 import io.qameta.allure.*;
 import io.qameta.allure.testng.AllureTestNg;
+import listeners.FailFastListener;
+import listeners.FlightRecorderListener;
+import listeners.HistoryOrderInterceptor;
+import listeners.JournalListener;
+import listeners.MetricsListener;
+import listeners.ScreenshotListener;
+import listeners.ShardInterceptor;
+import listeners.StandInListener;
 import org.testng.annotations.Listeners;
 
-@Listeners({AllureTestNg.class})
+@Listeners({StandInListener.class, AllureTestNg.class, ScreenshotListener.class, MetricsListener.class,
+        ShardInterceptor.class, HistoryOrderInterceptor.class, FailFastListener.class,
+        JournalListener.class, FlightRecorderListener.class})
 public class LoginTest {
-
-    WebDriver driver;
-    private static final Logger logger = Logger.getLogger(LoginTest.class.getName());
+    private static final RunJournal.Channel journal = RunJournal.channel(LoginTest.class);
 
     /**
      * Setup method executed before each test.
@@ -27,10 +36,10 @@ public class LoginTest {
     @BeforeMethod
     @Step("Setup WebDriver and open login page")
     public void setup() {
-        logger.info("Initializing WebDriver...");
-        driver = DriverFactory.initDriver();
-        driver.get("https://www.saucedemo.com/");
-        logger.info("Navigated to SauceDemo login page.");
+        journal.info(() -> "Initializing WebDriver...");
+        WebDriver driver = DriverFactory.initDriver();
+        driver.get(ConfigReader.getBaseUrl());
+        journal.info(() -> "Navigated to SauceDemo login page.");
     }
 
     /**
@@ -43,20 +52,21 @@ public class LoginTest {
     @Severity(SeverityLevel.BLOCKER)
     @Description("Ensure that user can login using standard_user credentials and see inventory items.")
     public void testValidLogin() {
-        logger.info("Starting login test with valid credentials.");
+        journal.info(() -> "Starting login test with valid credentials.");
+        WebDriver driver = DriverFactory.getDriver();
 
         LoginPage loginPage = new LoginPage(driver);
         login("standard_user", "secret_sauce");
 
         // Verify redirection to inventory page after login
         String currentUrl = driver.getCurrentUrl();
-        logger.info("Current URL after login: " + currentUrl);
+        journal.info(() -> "Current URL after login: " + currentUrl);
         Assert.assertTrue(currentUrl.contains("/inventory.html"), "User is not redirected to inventory page");
 
         // Verify inventory items are displayed
         InventoryPage inventoryPage = new InventoryPage(driver);
         int itemCount = inventoryPage.getProductTitles().size();
-        logger.info("Number of products displayed: " + itemCount);
+        journal.info(() -> "Number of products displayed: " + itemCount);
         Assert.assertTrue(itemCount > 0, "No inventory items displayed");
 
         // Capture screenshot for Allure report
@@ -67,17 +77,17 @@ public class LoginTest {
      * Helper method to perform login and log the action.
      */
     @Step("Login with username: {0} and password: {1}")
+    @LatencyBudget(millis = 5000)
     private void login(String username, String password) {
-        new LoginPage(driver).login(username, password);
-        logger.info("Login form submitted.");
+        new LoginPage(DriverFactory.getDriver()).login(username, password);
+        journal.info(() -> "Login form submitted.");
     }
 
     /**
      * Captures a screenshot and attaches it to the Allure report.
      */
-    @Attachment(value = "{0}", type = "image/png")
-    private byte[] attachScreenshot(String name) {
-        return TestUtil.getScreenshotBytes(driver);
+    private void attachScreenshot(String name) {
+        ScreenshotPipeline.capture(DriverFactory.getDriver(), name);
     }
 
     /**
@@ -87,7 +97,7 @@ public class LoginTest {
     @AfterMethod
     @Step("Close the browser")
     public void teardown() {
-        logger.info("Quitting WebDriver session.");
+        journal.info(() -> "Quitting WebDriver session.");
         DriverFactory.quitDriver();
     }
 }
@@ -2,41 +2,44 @@ package tests;
 
 import org.testng.annotations.*;
 import pages.InventoryPage;
-import pages.LoginPage;
 import utils.DriverFactory;
-import utils.TestUtil;
+import utils.RunJournal;
+import utils.SessionFixture;
+import utils.ScreenshotPipeline;
 
 import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 
-import java.util.logging.Logger;
-
 import io.qameta.allure.*;
 import io.qameta.allure.testng.AllureTestNg;
+import listeners.FailFastListener;
+import listeners.FlightRecorderListener;
+import listeners.HistoryOrderInterceptor;
+import listeners.JournalListener;
+import listeners.MetricsListener;
+import listeners.ScreenshotListener;
+import listeners.ShardInterceptor;
+import listeners.StandInListener;
 import org.testng.annotations.Listeners;
 
-@Listeners({AllureTestNg.class})
+@Listeners({StandInListener.class, AllureTestNg.class, ScreenshotListener.class, MetricsListener.class,
+        ShardInterceptor.class, HistoryOrderInterceptor.class, FailFastListener.class,
+        JournalListener.class, FlightRecorderListener.class})
 public class ProductSearchTest {
-    WebDriver driver;
-    private static final Logger logger = Logger.getLogger(ProductSearchTest.class.getName());
+    private static final RunJournal.Channel journal = RunJournal.channel(ProductSearchTest.class);
 
     /**
-     * Initializes the WebDriver and logs into the SauceDemo application.
+     * Initializes the WebDriver and opens the inventory page with a seeded standard_user session.
      */
     @BeforeMethod
-    @Step("Initialize WebDriver and login to SauceDemo")
+    @Step("Initialize WebDriver with a logged in SauceDemo session")
     public void setup() {
-        logger.info("Initializing WebDriver and navigating to SauceDemo login page.");
-        driver = DriverFactory.initDriver();
-        driver.get("https://www.saucedemo.com/");
-
-        // Log in using standard credentials
-        logger.info("Logging in with valid credentials.");
-        new LoginPage(driver).login("standard_user", "secret_sauce");
+        journal.info(() -> "Initializing WebDriver.");
+        WebDriver driver = DriverFactory.initDriver();
 
-        // Capture post-login screenshot
-        logger.info("Login successful. Taking screenshot.");
-        attachScreenshot("after_login");
+        // Seed the session instead of logging in through the form
+        journal.info(() -> "Seeding session for standard_user.");
+        SessionFixture.loginAs(driver, "standard_user");
     }
 
     /**
@@ -49,13 +52,13 @@ public class ProductSearchTest {
     @Severity(SeverityLevel.NORMAL)
     public void testSearchKeyword() {
         String keyword = "backpack";
-        logger.info("Searching for keyword: " + keyword);
+        journal.info(() -> "Searching for keyword: " + keyword);
 
-        InventoryPage inventory = new InventoryPage(driver);
+        InventoryPage inventory = new InventoryPage(DriverFactory.getDriver());
 
         // Count how many product titles contain the search keyword
         long count = countProductsWithKeyword(keyword, inventory);
-        logger.info("Number of products found with keyword '" + keyword + "': " + count);
+        journal.info(() -> "Number of products found with keyword '" + keyword + "': " + count);
 
         // Capture screenshot of search results
         attachScreenshot("after_search");
@@ -75,9 +78,8 @@ public class ProductSearchTest {
     /**
      * Attaches a screenshot to the Allure report.
      */
-    @Attachment(value = "{0}", type = "image/png")
-    private byte[] attachScreenshot(String name) {
-        return TestUtil.getScreenshotBytes(driver);
+    private void attachScreenshot(String name) {
+        ScreenshotPipeline.capture(DriverFactory.getDriver(), name);
     }
 
     /**
@@ -86,7 +88,7 @@ public class ProductSearchTest {
     @AfterMethod
     @Step("Quit WebDriver")
     public void teardown() {
-        logger.info("Quitting WebDriver.");
+        journal.info(() -> "Quitting WebDriver.");
         DriverFactory.quitDriver();
     }
 }
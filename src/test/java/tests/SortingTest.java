@@ -2,40 +2,46 @@ package tests;
 
 import org.testng.annotations.*;
 import pages.InventoryPage;
-import pages.LoginPage;
 import utils.DriverFactory;
-import utils.TestUtil;
+import utils.LatencyBudget;
+import utils.RunJournal;
+import utils.SessionFixture;
+import utils.ScreenshotPipeline;
 
 import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 
 import java.util.List;
-import java.util.logging.Logger;
 
 import io.qameta.allure.*;
 import io.qameta.allure.testng.AllureTestNg;
+import listeners.FailFastListener;
+import listeners.FlightRecorderListener;
+import listeners.HistoryOrderInterceptor;
+import listeners.JournalListener;
+import listeners.MetricsListener;
+import listeners.ScreenshotListener;
+import listeners.ShardInterceptor;
+import listeners.StandInListener;
 import org.testng.annotations.Listeners;
 
-@Listeners({AllureTestNg.class})
+@Listeners({StandInListener.class, AllureTestNg.class, ScreenshotListener.class, MetricsListener.class,
+        ShardInterceptor.class, HistoryOrderInterceptor.class, FailFastListener.class,
+        JournalListener.class, FlightRecorderListener.class})
 public class SortingTest {
-    WebDriver driver;
-    private static final Logger logger = Logger.getLogger(SortingTest.class.getName());
+    private static final RunJournal.Channel journal = RunJournal.channel(SortingTest.class);
 
     /**
-     * Initializes WebDriver and logs into the SauceDemo site before each test.
+     * Initializes WebDriver and opens the inventory page with a seeded standard_user session before each test.
      */
     @BeforeMethod
-    @Step("Setup WebDriver and login to SauceDemo")
+    @Step("Setup WebDriver with a logged in SauceDemo session")
     public void setup() {
-        logger.info("Starting WebDriver and opening SauceDemo site.");
-        driver = DriverFactory.initDriver();
-        driver.get("https://www.saucedemo.com/");
+        journal.info(() -> "Starting WebDriver.");
+        WebDriver driver = DriverFactory.initDriver();
 
-        logger.info("Logging in with standard_user.");
-        new LoginPage(driver).login("standard_user", "secret_sauce");
-
-        // Capture post-login screenshot
-        attachScreenshot("login_successful");
+        journal.info(() -> "Seeding session for standard_user.");
+        SessionFixture.loginAs(driver, "standard_user");
     }
 
     /**
@@ -47,26 +53,26 @@ public class SortingTest {
     @Story("Sort products by price and validate sorting order and product count")
     @Severity(SeverityLevel.NORMAL)
     public void testPriceSortingHighToLowAndSauceCount() {
-        logger.info("Navigating to inventory page and sorting by Price: High to Low.");
-        InventoryPage inventory = new InventoryPage(driver);
+        journal.info(() -> "Navigating to inventory page and sorting by Price: High to Low.");
+        InventoryPage inventory = new InventoryPage(DriverFactory.getDriver());
 
         // Sort by "Price (high to low)"
         sortProductsBy("Price (high to low)", inventory);
 
         // Get the top 3 prices after sorting
         List<Double> prices = getTopNPrices(3, inventory);
-        logger.info("Top 3 prices extracted: " + prices);
+        journal.info(() -> "Top 3 prices extracted: " + prices);
 
         // Validate sorting order
         Assert.assertTrue(prices.get(0) >= prices.get(1), "First price is not greater than or equal to second");
         Assert.assertTrue(prices.get(1) >= prices.get(2), "Second price is not greater than or equal to third");
 
-        logger.info("Prices are sorted correctly in descending order.");
+        journal.info(() -> "Prices are sorted correctly in descending order.");
         attachScreenshot("sorted_high_to_low");
 
         // Count number of product titles containing the word "sauce"
         long sauceCount = countProductsWithKeyword("sauce", inventory);
-        logger.info("Number of products with 'sauce' in title: " + sauceCount);
+        journal.info(() -> "Number of products with 'sauce' in title: " + sauceCount);
 
         // Validate that at least one product contains the keyword
         Assert.assertTrue(sauceCount > 0, "No product titles contain 'sauce'");
@@ -76,6 +82,7 @@ public class SortingTest {
      * Helper method to sort products using the inventory page.
      */
     @Step("Sort products by '{criteria}'")
+    @LatencyBudget(millis = 2000)
     private void sortProductsBy(String criteria, InventoryPage inventory) {
         inventory.sortBy(criteria);
     }
@@ -99,9 +106,8 @@ public class SortingTest {
     /**
      * Attaches a screenshot to the Allure report.
      */
-    @Attachment(value = "{0}", type = "image/png")
-    private byte[] attachScreenshot(String name) {
-        return TestUtil.getScreenshotBytes(driver);
+    private void attachScreenshot(String name) {
+        ScreenshotPipeline.capture(DriverFactory.getDriver(), name);
     }
 
     /**
@@ -110,7 +116,7 @@ public class SortingTest {
     @AfterMethod
     @Step("Quit WebDriver")
     public void teardown() {
-        logger.info("Closing WebDriver.");
+        journal.info(() -> "Closing WebDriver.");
         DriverFactory.quitDriver();
     }
 }
@@ -0,0 +1,153 @@
+package tests;
+
+import org.testng.annotations.*;
+import org.testng.Assert;
+import pages.InventoryPage;
+import pages.LoginPage;
+import utils.ConfigReader;
+import utils.DriverFactory;
+import utils.LatencyBudget;
+import utils.LatencyBudgetAspect;
+import utils.RunJournal;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+import io.qameta.allure.*;
+import io.qameta.allure.testng.AllureTestNg;
+import listeners.FailFastListener;
+import listeners.FlightRecorderListener;
+import listeners.HistoryOrderInterceptor;
+import listeners.JournalListener;
+import listeners.MetricsListener;
+import listeners.ScreenshotListener;
+import listeners.ShardInterceptor;
+import listeners.StandInListener;
+import org.testng.annotations.Listeners;
+
+@Listeners({StandInListener.class, AllureTestNg.class, ScreenshotListener.class, MetricsListener.class,
+        ShardInterceptor.class, HistoryOrderInterceptor.class, FailFastListener.class,
+        JournalListener.class, FlightRecorderListener.class})
+public class UserLatencyComparisonTest {
+    private static final RunJournal.Channel journal = RunJournal.channel(UserLatencyComparisonTest.class);
+
+    /**
+     * Accounts the flow runs under, side by side. The first one is the baseline of the delta report.
+     */
+    @DataProvider(name = "accounts", parallel = true)
+    public Object[][] accounts() {
+        String[] users = ConfigReader.get("latency.compare.users", "standard_user,performance_glitch_user").split(",");
+        Object[][] data = new Object[users.length][];
+        for (int i = 0; i < users.length; i++) {
+            data[i] = new Object[]{users[i].trim()};
+        }
+        return data;
+    }
+
+    /**
+     * Initializes the WebDriver and opens the login page before each account's run.
+     */
+    @BeforeMethod
+    @Step("Setup WebDriver and open login page")
+    public void setup() {
+        journal.info(() -> "Initializing WebDriver...");
+        WebDriver driver = DriverFactory.initDriver();
+        driver.get(ConfigReader.getBaseUrl());
+    }
+
+    /**
+     * Runs login, sorting and opening the cart under one account.
+     * Step latencies are recorded per account; steps over budget are flagged in the report.
+     */
+    @Test(dataProvider = "accounts", description = "Compare step latencies between user accounts")
+    @Epic("Performance")
+    @Feature("Latency Budgets")
+    @Story("Same flow under several accounts with per-step latency deltas")
+    @Severity(SeverityLevel.NORMAL)
+    public void testFlowLatencyPerAccount(String username) {
+        LatencyBudgetAspect.setAccount(username);
+        try {
+            login(username);
+            InventoryPage inventory = new InventoryPage(DriverFactory.getDriver());
+            sortProductsBy("Price (low to high)", inventory);
+            openCart(inventory);
+            Assert.assertTrue(DriverFactory.getDriver().getCurrentUrl().contains("cart.html"),
+                    "Cart page was not opened for " + username);
+        } finally {
+            LatencyBudgetAspect.setAccount(null);
+        }
+    }
+
+    /**
+     * Logs in through the form and waits for the inventory, so the step covers the whole transition.
+     */
+    @Step("Login as {0}")
+    @LatencyBudget(millis = 5000, action = LatencyBudget.Action.FLAG)
+    private void login(String username) {
+        WebDriver driver = DriverFactory.getDriver();
+        new LoginPage(driver).login(username, "secret_sauce");
+        new WebDriverWait(driver, Duration.ofSeconds(30))
+                .until(ExpectedConditions.visibilityOfElementLocated(By.className("inventory_list")));
+    }
+
+    /**
+     * Helper method to sort products using the inventory page.
+     */
+    @Step("Sort products by '{0}'")
+    @LatencyBudget(millis = 2000, action = LatencyBudget.Action.FLAG)
+    private void sortProductsBy(String criteria, InventoryPage inventory) {
+        inventory.sortBy(criteria);
+    }
+
+    /**
+     * Opens the cart and waits for its checkout button.
+     */
+    @Step("Open the cart")
+    @LatencyBudget(millis = 3000, action = LatencyBudget.Action.FLAG)
+    private void openCart(InventoryPage inventory) {
+        inventory.goToCart();
+        new WebDriverWait(DriverFactory.getDriver(), Duration.ofSeconds(30))
+                .until(ExpectedConditions.visibilityOfElementLocated(By.id("checkout")));
+    }
+
+    /**
+     * Quits the browser after each account's run.
+     */
+    @AfterMethod
+    @Step("Close the browser")
+    public void teardown() {
+        DriverFactory.quitDriver();
+    }
+
+    /**
+     * Logs the per step latency of every account against the baseline and writes it to latencyDeltas.txt.
+     * Fails when any step's median is more than latency.compare.max.delta.ms above the baseline's.
+     */
+    @AfterClass(alwaysRun = true)
+    public void reportDeltas() {
+        String baseline = accounts()[0][0].toString();
+        String report = LatencyBudgetAspect.deltaReport(baseline);
+        journal.info(() -> "Step latency compared with " + baseline + ":\n" + report);
+        Path dir = Paths.get(ConfigReader.get("metrics.export.dir", "target/metrics"));
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("latencyDeltas.txt"), report.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            journal.warn(() -> "Could not write latency deltas: " + e.getMessage());
+        }
+        double maxDeltaMillis = ConfigReader.getInt("latency.compare.max.delta.ms", 10000)
+                * Double.parseDouble(ConfigReader.get("latency.budget.factor", "1"));
+        List<String> over = LatencyBudgetAspect.deltasOver(baseline, maxDeltaMillis);
+        Assert.assertTrue(over.isEmpty(), "Steps more than " + (long) maxDeltaMillis + " ms slower than "
+                + baseline + ": " + String.join("; ", over));
+    }
+}